@@ -1,3 +1,13 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 /**
  * AlgorithmAnalysis class explaining Big O notation and analyzing search algorithms
  * Provides detailed analysis of time complexity and performance characteristics
@@ -227,4 +237,166 @@ public class AlgorithmAnalysis {
         System.out.println("• Binary search scales logarithmically (very well)");
         System.out.println();
     }
+    
+    /**
+     * Measure average probes per lookup of each sorted-array search on different ID distributions
+     * Probe counts come from the comparison counters that SearchAlgorithms records in SearchMetrics;
+     * every product ID a search reads is counted, including the range ends interpolation works from
+     * 
+     * @param size Products per catalog
+     * @param lookups Lookups of existing IDs per search method and distribution
+     */
+    public static void reportProbeCounts(int size, int lookups) {
+        String[] distributions = {"dense", "blocks", "uniform", "clustered"};
+        String[] methods = {"binarySearch", "interpolationSearch", "exponentialSearch", "hybridSearch"};
+        List<BiFunction<Product[], Integer, Product>> searches = List.of(
+            SearchAlgorithms::binarySearch,
+            SearchAlgorithms::interpolationSearch,
+            SearchAlgorithms::exponentialSearch,
+            SearchAlgorithms::hybridSearch
+        );
+        
+        System.out.println("=== MEASURED PROBES PER LOOKUP (" + String.format("%,d", size) + " products) ===");
+        System.out.println();
+        System.out.println("┌────────────┬──────────────┬───────────────┬─────────────┬──────────────┐");
+        System.out.println("│ IDs        │ Binary       │ Interpolation │ Exponential │ Hybrid       │");
+        System.out.println("├────────────┼──────────────┼───────────────┼─────────────┼──────────────┤");
+        boolean wasVerbose = SearchAlgorithms.isVerbose();
+        SearchAlgorithms.setVerbose(false);
+        try {
+            for (String distribution : distributions) {
+                Product[] products = productsWithIds(distribution, size);
+                Random random = new Random(7);
+                int[] targets = new int[lookups];
+                for (int i = 0; i < lookups; i++) {
+                    targets[i] = products[random.nextInt(size)].getProductId();
+                }
+                String[] cells = new String[methods.length];
+                for (int m = 0; m < methods.length; m++) {
+                    SearchMetrics.Operation operation = SearchMetrics.operation(methods[m]);
+                    long callsBefore = operation.getCalls();
+                    long comparisonsBefore = operation.getComparisons();
+                    for (int target : targets) {
+                        searches.get(m).apply(products, target);
+                    }
+                    double probes = (double) (operation.getComparisons() - comparisonsBefore)
+                                    / (operation.getCalls() - callsBefore);
+                    cells[m] = String.format("%.1f", probes);
+                }
+                System.out.printf("│ %-10s │ %12s │ %13s │ %11s │ %12s │%n",
+                                  distribution, cells[0], cells[1], cells[2], cells[3]);
+            }
+        } finally {
+            SearchAlgorithms.setVerbose(wasVerbose);
+        }
+        System.out.println("└────────────┴──────────────┴───────────────┴─────────────┴──────────────┘");
+        System.out.println("dense: 1, 2, 3, ...  blocks: one dense ID range per category (like 1001, 2001, 3001)");
+        System.out.println("uniform: random IDs  clustered: 99% dense, the last 1% spread up to 2 billion");
+        System.out.println();
+    }
+    
+    /**
+     * Build a catalog sorted by ID whose IDs follow a named distribution
+     */
+    private static Product[] productsWithIds(String distribution, int size) {
+        int[] ids = new int[size];
+        Random random = new Random(11);
+        switch (distribution) {
+            case "dense":
+                for (int i = 0; i < size; i++) {
+                    ids[i] = i + 1;
+                }
+                break;
+            case "blocks":
+                // 8 categories, each a dense run starting at the next multiple of a round stride
+                int perBlock = (size + 7) / 8;
+                int stride = 1000;
+                while (stride < perBlock * 2) {
+                    stride *= 10;
+                }
+                for (int i = 0; i < size; i++) {
+                    ids[i] = (i / perBlock + 1) * stride + 1 + i % perBlock;
+                }
+                break;
+            case "uniform":
+                // Sorted random IDs, at least 1 apart
+                long next = 0;
+                for (int i = 0; i < size; i++) {
+                    next += 1 + random.nextInt(2 * (Integer.MAX_VALUE / 2 / size) - 1);
+                    ids[i] = (int) next;
+                }
+                break;
+            default:
+                int dense = size - size / 100;
+                for (int i = 0; i < dense; i++) {
+                    ids[i] = i + 1;
+                }
+                for (int i = dense; i < size; i++) {
+                    ids[i] = dense + (int) ((long) (i - dense + 1) * (2_000_000_000 - dense) / (size - dense));
+                }
+                break;
+        }
+        Product[] products = new Product[size];
+        for (int i = 0; i < size; i++) {
+            products[i] = new Product(ids[i], "Product " + ids[i], "General", 9.99, "");
+        }
+        return products;
+    }
+    
+    /**
+     * Render measured results written by SearchBenchmark as a table
+     * Unlike demonstratePerformance, these are real timings from this machine
+     * 
+     * @param jsonFile JSON results file produced by SearchBenchmark
+     */
+    public static void printBenchmarkTable(String jsonFile) {
+        String json;
+        try {
+            json = new String(Files.readAllBytes(Paths.get(jsonFile)), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.out.println("✗ Could not read benchmark results: " + e.getMessage());
+            return;
+        }
+        
+        System.out.println("=== MEASURED PERFORMANCE (" + jsonFile + ") ===");
+        System.out.println();
+        System.out.println("┌────────────────────────────────────┬─────────────┬──────────┬─────────┬───────────────────┬───────────────┐");
+        System.out.println("│ Benchmark                          │ Size (n)    │ Workload │ Keys    │ Time (ns/op)      │ ± Std Dev     │");
+        System.out.println("├────────────────────────────────────┼─────────────┼──────────┼─────────┼───────────────────┼───────────────┤");
+        // One result object per line: pick the fields out with a regex rather than a JSON library
+        Pattern field = Pattern.compile("\"(benchmark|size|workload|keys|score|scoreStdDev)\":\\s*\"?([^\",}]*)");
+        for (String line : json.split("\\R")) {
+            Matcher matcher = field.matcher(line);
+            String[] values = new String[6];
+            int found = 0;
+            while (matcher.find()) {
+                switch (matcher.group(1)) {
+                    case "benchmark":
+                        values[0] = matcher.group(2);
+                        break;
+                    case "size":
+                        values[1] = String.format("%,d", Long.parseLong(matcher.group(2)));
+                        break;
+                    case "workload":
+                        values[2] = matcher.group(2);
+                        break;
+                    case "keys":
+                        values[3] = matcher.group(2);
+                        break;
+                    case "score":
+                        values[4] = String.format("%,.1f", Double.parseDouble(matcher.group(2)));
+                        break;
+                    default:
+                        values[5] = String.format("%,.1f", Double.parseDouble(matcher.group(2)));
+                        break;
+                }
+                found++;
+            }
+            if (found == values.length) {
+                System.out.printf("│ %-34s │ %-11s │ %-8s │ %-7s │ %17s │ %13s │%n", (Object[]) values);
+            }
+        }
+        System.out.println("└────────────────────────────────────┴─────────────┴──────────┴─────────┴───────────────────┴───────────────┘");
+        System.out.println();
+    }
 } 
\ No newline at end of file
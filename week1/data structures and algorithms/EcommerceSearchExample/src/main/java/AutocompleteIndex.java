@@ -0,0 +1,344 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * AutocompleteIndex class returning the best-scoring products whose names start with a prefix
+ * Lower-cased names are packed into one sorted char pool; prefixes that match many names keep a
+ * precomputed top-k list (the heavy nodes of a compact trie), so short prefixes never scan their whole range
+ */
+public class AutocompleteIndex {
+    /** Longest result list precomputed for a heavy prefix */
+    public static final int MAX_CACHED_RESULTS = 10;
+    /** Prefix ranges larger than this get a precomputed top-k list */
+    private static final int SCAN_THRESHOLD = 256;
+    
+    private final int size;
+    private final char[] namePool;
+    private final int[] nameOffsets;
+    private final double[] scores;
+    private final Product[] products;
+    private final Map<String, int[]> heavyPrefixes = new HashMap<>();
+    
+    /**
+     * Constructor for AutocompleteIndex
+     * @param source Products in any order
+     * @param score Ranking score for each product (higher ranks first), e.g. popularity or -price
+     */
+    public AutocompleteIndex(Product[] source, ToDoubleFunction<Product> score) {
+        size = source.length;
+        String[] lowerNames = new String[size];
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            lowerNames[i] = source[i].getProductName().toLowerCase(Locale.ROOT);
+            order[i] = i;
+        }
+        sortByName(order, lowerNames);
+        
+        nameOffsets = new int[size + 1];
+        scores = new double[size];
+        products = new Product[size];
+        int poolLength = 0;
+        for (int row = 0; row < size; row++) {
+            products[row] = source[order[row]];
+            scores[row] = score.applyAsDouble(products[row]);
+            nameOffsets[row] = poolLength;
+            poolLength += lowerNames[order[row]].length();
+        }
+        nameOffsets[size] = poolLength;
+        namePool = new char[poolLength];
+        for (int row = 0; row < size; row++) {
+            String name = lowerNames[order[row]];
+            name.getChars(0, name.length(), namePool, nameOffsets[row]);
+        }
+        
+        buildHeavyPrefixes(0, size, 0, new StringBuilder());
+    }
+    
+    /**
+     * Build an index ranking completions by price, cheapest first
+     * @param source Products in any order
+     * @return Autocomplete index
+     */
+    public static AutocompleteIndex byLowestPrice(Product[] source) {
+        return new AutocompleteIndex(source, product -> -product.getPrice());
+    }
+    
+    /**
+     * Find the best-scoring products whose names start with a prefix (case-insensitive)
+     * Time Complexity: O(log n + k) for heavy prefixes, O(log n + m log k) otherwise (m = matches)
+     * 
+     * @param prefix Text typed so far
+     * @param k Maximum number of suggestions
+     * @return Matching products, highest score first
+     */
+    public Product[] complete(String prefix, int k) {
+        if (k <= 0) {
+            return new Product[0];
+        }
+        String lowerPrefix = prefix.toLowerCase(Locale.ROOT);
+        int from = lowerBound(lowerPrefix);
+        int to = upperBound(lowerPrefix, from);
+        
+        int[] rows;
+        int[] cached = to - from > SCAN_THRESHOLD && k <= MAX_CACHED_RESULTS ? heavyPrefixes.get(lowerPrefix) : null;
+        if (cached != null) {
+            rows = Arrays.copyOf(cached, Math.min(k, cached.length));
+        } else {
+            rows = topRows(from, to, k);
+        }
+        
+        Product[] results = new Product[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            results[i] = products[rows[i]];
+        }
+        return results;
+    }
+    
+    /**
+     * Count names starting with a prefix
+     * @param prefix Prefix (case-insensitive)
+     * @return Number of matching products
+     */
+    public int countMatches(String prefix) {
+        String lowerPrefix = prefix.toLowerCase(Locale.ROOT);
+        int from = lowerBound(lowerPrefix);
+        return upperBound(lowerPrefix, from) - from;
+    }
+    
+    /**
+     * Get number of indexed names
+     * @return Number of products
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Get number of prefixes with a precomputed result list
+     * @return Heavy prefix count
+     */
+    public int getHeavyPrefixCount() {
+        return heavyPrefixes.size();
+    }
+    
+    /**
+     * Estimate heap used by the index (64-bit JVM with compressed references)
+     * Product objects themselves are shared with the caller and not counted
+     * 
+     * @return Estimated bytes
+     */
+    public long estimateMemoryBytes() {
+        long bytes = arrayBytes(namePool.length, 2) + arrayBytes(nameOffsets.length, 4)
+                   + arrayBytes(scores.length, 8) + arrayBytes(products.length, 4);
+        for (Map.Entry<String, int[]> entry : heavyPrefixes.entrySet()) {
+            // HashMap node + key String with its backing array + cached int[]
+            bytes += 32 + 24 + arrayBytes(entry.getKey().length(), 1) + arrayBytes(entry.getValue().length, 4);
+        }
+        bytes += arrayBytes(Integer.highestOneBit(Math.max(1, heavyPrefixes.size()) * 2), 4);
+        return bytes;
+    }
+    
+    /**
+     * Estimate heap used per million indexed names
+     * @return Estimated bytes per 1,000,000 names
+     */
+    public long estimateBytesPerMillionNames() {
+        return size == 0 ? 0 : estimateMemoryBytes() * 1_000_000L / size;
+    }
+    
+    /**
+     * Sort source positions by name with a bottom-up merge sort on the int[] itself (stable, nothing boxed)
+     * Time Complexity: O(n log n) string comparisons
+     */
+    private static void sortByName(int[] order, String[] names) {
+        int n = order.length;
+        int[] buffer = new int[n];
+        for (int width = 1; width < n; width *= 2) {
+            for (int low = 0; low < n - width; low += 2 * width) {
+                int mid = low + width;
+                int high = Math.min(mid + width, n);
+                if (names[order[mid - 1]].compareTo(names[order[mid]]) <= 0) {
+                    // Runs already in order
+                    continue;
+                }
+                System.arraycopy(order, low, buffer, low, high - low);
+                int i = low;
+                int j = mid;
+                int k = low;
+                while (i < mid && j < high) {
+                    order[k++] = names[buffer[j]].compareTo(names[buffer[i]]) < 0 ? buffer[j++] : buffer[i++];
+                }
+                while (i < mid) {
+                    order[k++] = buffer[i++];
+                }
+                while (j < high) {
+                    order[k++] = buffer[j++];
+                }
+            }
+        }
+    }
+    
+    /**
+     * Size of a Java array with a 16-byte header, rounded up to 8 bytes
+     */
+    private static long arrayBytes(int length, int elementBytes) {
+        return (16 + (long) length * elementBytes + 7) & ~7L;
+    }
+    
+    /**
+     * Precompute top-k lists for every prefix whose range is too large to scan per keystroke
+     * @param from First row of the range (inclusive)
+     * @param to Last row of the range (exclusive)
+     * @param depth Length of the prefix shared by every row in the range
+     * @param prefix The shared prefix
+     */
+    private void buildHeavyPrefixes(int from, int to, int depth, StringBuilder prefix) {
+        if (to - from <= SCAN_THRESHOLD) {
+            return;
+        }
+        heavyPrefixes.put(prefix.toString(), topRows(from, to, MAX_CACHED_RESULTS));
+        
+        // Names equal to the prefix sort first; the rest are grouped by their next character
+        int row = from;
+        while (row < to && nameLength(row) == depth) {
+            row++;
+        }
+        while (row < to) {
+            char next = namePool[nameOffsets[row] + depth];
+            int groupEnd = row + 1;
+            while (groupEnd < to && namePool[nameOffsets[groupEnd] + depth] == next) {
+                groupEnd++;
+            }
+            prefix.append(next);
+            buildHeavyPrefixes(row, groupEnd, depth + 1, prefix);
+            prefix.setLength(depth);
+            row = groupEnd;
+        }
+    }
+    
+    /**
+     * Select the k highest-scoring rows of a range with a bounded min-heap
+     * Time Complexity: O(m log k) for a range of m rows
+     */
+    private int[] topRows(int from, int to, int k) {
+        int[] heap = new int[Math.min(k, to - from)];
+        int heapSize = 0;
+        for (int row = from; row < to; row++) {
+            if (heapSize < heap.length) {
+                heap[heapSize] = row;
+                siftUp(heap, heapSize++);
+            } else if (ranksHigher(row, heap[0])) {
+                heap[0] = row;
+                siftDown(heap, heapSize);
+            }
+        }
+        // Pop the weakest row into the back of the result until the heap is empty
+        int[] result = new int[heapSize];
+        for (int i = heapSize - 1; i >= 0; i--) {
+            result[i] = heap[0];
+            heap[0] = heap[--heapSize];
+            siftDown(heap, heapSize);
+        }
+        return result;
+    }
+    
+    /**
+     * Higher score wins; equal scores keep alphabetical order
+     */
+    private boolean ranksHigher(int rowA, int rowB) {
+        return scores[rowA] > scores[rowB] || (scores[rowA] == scores[rowB] && rowA < rowB);
+    }
+    
+    private void siftUp(int[] heap, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!ranksHigher(heap[parent], heap[i])) {
+                break;
+            }
+            swap(heap, i, parent);
+            i = parent;
+        }
+    }
+    
+    private void siftDown(int[] heap, int heapSize) {
+        int i = 0;
+        while (true) {
+            int weakest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < heapSize && ranksHigher(heap[weakest], heap[left])) {
+                weakest = left;
+            }
+            if (right < heapSize && ranksHigher(heap[weakest], heap[right])) {
+                weakest = right;
+            }
+            if (weakest == i) {
+                return;
+            }
+            swap(heap, i, weakest);
+            i = weakest;
+        }
+    }
+    
+    private static void swap(int[] array, int i, int j) {
+        int tmp = array[i];
+        array[i] = array[j];
+        array[j] = tmp;
+    }
+    
+    private int nameLength(int row) {
+        return nameOffsets[row + 1] - nameOffsets[row];
+    }
+    
+    /**
+     * Compare a row's name, cut to the prefix length, with the prefix
+     */
+    private int comparePrefix(int row, String prefix) {
+        int start = nameOffsets[row];
+        int limit = Math.min(nameLength(row), prefix.length());
+        for (int i = 0; i < limit; i++) {
+            int diff = namePool[start + i] - prefix.charAt(i);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return nameLength(row) >= prefix.length() ? 0 : -1;
+    }
+    
+    /**
+     * First row whose name is not before the prefix
+     */
+    private int lowerBound(String prefix) {
+        int left = 0;
+        int right = size;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            if (comparePrefix(mid, prefix) < 0) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+        return left;
+    }
+    
+    /**
+     * First row after the block of names starting with the prefix
+     */
+    private int upperBound(String prefix, int from) {
+        int left = from;
+        int right = size;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            if (comparePrefix(mid, prefix) <= 0) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+        return left;
+    }
+} 
\ No newline at end of file
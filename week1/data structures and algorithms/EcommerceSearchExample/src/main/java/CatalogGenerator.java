@@ -0,0 +1,314 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * CatalogGenerator class producing large synthetic product catalogs deterministically
+ * Record i depends only on (seed, i), so catalogs can be streamed lazily, split across threads
+ * or written to disk without ever holding more than one product per thread on the heap
+ */
+public class CatalogGenerator {
+    /** ID of record 0; record i has ID FIRST_ID + 2 * i, so odd IDs are guaranteed misses */
+    public static final int FIRST_ID = 1000;
+    /** Largest supported catalog (IDs must stay within int range) */
+    public static final long MAX_COUNT = (Integer.MAX_VALUE - FIRST_ID) / 2;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    
+    // Category mix is skewed the way real catalogs are: a few large departments, a long tail
+    private static final String[] CATEGORIES = {
+        "Electronics", "Clothing", "Home", "Books", "Sports", "Toys", "Beauty", "Grocery"
+    };
+    private static final double[] CATEGORY_WEIGHTS = {0.22, 0.20, 0.16, 0.14, 0.10, 0.08, 0.06, 0.04};
+    // Prices are log-normal per category: median price and spread (sigma of ln price)
+    private static final double[] MEDIAN_PRICES = {149.0, 34.0, 59.0, 17.0, 45.0, 25.0, 21.0, 8.0};
+    private static final double[] PRICE_SIGMAS = {1.0, 0.6, 0.8, 0.5, 0.7, 0.6, 0.5, 0.6};
+    private static final String[][] NOUNS = {
+        {"Laptop", "Smartphone", "Headphones", "Monitor", "Tablet", "Camera", "Speaker", "Keyboard", "Router", "Charger"},
+        {"T-Shirt", "Jeans", "Sneakers", "Jacket", "Dress", "Hoodie", "Socks", "Boots", "Scarf", "Cap"},
+        {"Coffee Maker", "Blender", "Microwave", "Lamp", "Toaster", "Vacuum", "Kettle", "Pillow", "Rug", "Pan"},
+        {"Novel", "Cookbook", "Magazine", "Biography", "Atlas", "Comic", "Textbook", "Journal", "Guide", "Anthology"},
+        {"Yoga Mat", "Dumbbell", "Bicycle", "Tent", "Backpack", "Racket", "Helmet", "Football", "Skates", "Bottle"},
+        {"Puzzle", "Doll", "Robot", "Board Game", "Blocks", "Kite", "Plush Bear", "Train Set", "Drone", "Car"},
+        {"Shampoo", "Lipstick", "Perfume", "Lotion", "Serum", "Razor", "Brush", "Mascara", "Soap", "Cream"},
+        {"Coffee", "Tea", "Olive Oil", "Pasta", "Honey", "Chocolate", "Rice", "Cereal", "Spice Mix", "Nuts"}
+    };
+    private static final String[] ADJECTIVES = {
+        "Premium", "Classic", "Wireless", "Compact", "Deluxe", "Eco", "Smart", "Portable",
+        "Ultra", "Vintage", "Pro", "Organic", "Lightweight", "Essential", "Modern", "Signature"
+    };
+    private static final String[] BRANDS = {
+        "Acme", "Northwind", "Contoso", "Globex", "Initech", "Umbrella", "Stark", "Wayne", "Hooli", "Vandelay"
+    };
+    private static final String[] FEATURES = {
+        "built to last", "for everyday use", "with a two-year warranty", "in assorted colors",
+        "bestseller", "new arrival", "limited edition", "customer favorite"
+    };
+    
+    private final long seed;
+    private final double[] cumulativeWeights = new double[CATEGORY_WEIGHTS.length];
+    
+    /**
+     * Constructor for CatalogGenerator
+     * @param seed Seed; the same seed always yields the same catalog
+     */
+    public CatalogGenerator(long seed) {
+        this.seed = seed;
+        double total = 0;
+        for (int i = 0; i < CATEGORY_WEIGHTS.length; i++) {
+            total += CATEGORY_WEIGHTS[i];
+            cumulativeWeights[i] = total;
+        }
+    }
+    
+    /**
+     * Write a generated catalog to disk (JSON Lines if the file ends in .jsonl, otherwise CSV)
+     * Usage: java CatalogGenerator <count> <file.csv|file.jsonl> [seed]
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: java CatalogGenerator <count> <file.csv|file.jsonl> [seed]");
+            return;
+        }
+        long count = Long.parseLong(args[0].replace("_", ""));
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+        long start = System.nanoTime();
+        CatalogGenerator generator = new CatalogGenerator(seed);
+        Path file = java.nio.file.Paths.get(args[1]);
+        long bytes = args[1].endsWith(".jsonl") ? generator.writeJsonLines(file, count) : generator.writeCsv(file, count);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("✓ Wrote %,d products (%,d bytes) to %s in %.1f s%n", count, bytes, args[1], seconds);
+    }
+    
+    /**
+     * Generate one record
+     * Time Complexity: O(1), independent of other records
+     * 
+     * @param index Record number, 0 <= index < MAX_COUNT
+     * @return Product with ID FIRST_ID + 2 * index
+     */
+    public Product generate(long index) {
+        if (index < 0 || index >= MAX_COUNT) {
+            throw new IndexOutOfBoundsException("Record index out of range: " + index);
+        }
+        // SplitMix64 stream seeded from (seed, index)
+        long state = mix64(seed + index * GOLDEN_GAMMA);
+        double u = toUnit(state = mix64(state + GOLDEN_GAMMA));
+        int category = 0;
+        while (category < cumulativeWeights.length - 1 && u >= cumulativeWeights[category]) {
+            category++;
+        }
+        String[] nouns = NOUNS[category];
+        String noun = nouns[(int) ((state = mix64(state + GOLDEN_GAMMA)) >>> 33) % nouns.length];
+        String adjective = ADJECTIVES[(int) ((state = mix64(state + GOLDEN_GAMMA)) >>> 33) % ADJECTIVES.length];
+        String brand = BRANDS[(int) ((state = mix64(state + GOLDEN_GAMMA)) >>> 33) % BRANDS.length];
+        String feature = FEATURES[(int) ((state = mix64(state + GOLDEN_GAMMA)) >>> 33) % FEATURES.length];
+        int model = (int) (((state = mix64(state + GOLDEN_GAMMA)) >>> 33) % 1000);
+        
+        // Box-Muller normal sample, then log-normal price rounded to a .99 price point
+        double u1 = toUnit(state = mix64(state + GOLDEN_GAMMA));
+        double u2 = toUnit(mix64(state + GOLDEN_GAMMA));
+        double gaussian = Math.sqrt(-2 * Math.log(1 - u1)) * Math.cos(2 * Math.PI * u2);
+        double price = Math.floor(MEDIAN_PRICES[category] * Math.exp(PRICE_SIGMAS[category] * gaussian)) + 0.99;
+        
+        int id = (int) (FIRST_ID + 2 * index);
+        String name = adjective + " " + noun + " " + model;
+        String description = brand + " " + adjective.toLowerCase(Locale.ROOT) + " "
+                           + noun.toLowerCase(Locale.ROOT) + ", " + feature;
+        return new Product(id, name, CATEGORIES[category], price, description);
+    }
+    
+    /**
+     * Stream a catalog lazily in ID order
+     * The stream is SIZED and splits by index range, so .parallel() generates on all cores
+     * 
+     * @param count Number of products
+     * @return Stream of count products
+     */
+    public Stream<Product> stream(long count) {
+        if (count < 0 || count > MAX_COUNT) {
+            throw new IllegalArgumentException("Count must be between 0 and " + MAX_COUNT + ": " + count);
+        }
+        return StreamSupport.stream(new RecordSpliterator(0, count), false);
+    }
+    
+    /**
+     * Materialize a catalog as an array (in ID order)
+     * @param count Number of products
+     * @return Array of products
+     */
+    public Product[] generateArray(int count) {
+        Product[] products = new Product[count];
+        for (int i = 0; i < count; i++) {
+            products[i] = generate(i);
+        }
+        return products;
+    }
+    
+    /**
+     * Write a catalog to a CSV file one record at a time
+     * Columns: id,name,category,price,description (fields with commas or quotes are quoted)
+     * Time Complexity: O(count), O(1) heap
+     * 
+     * @param file Output file (overwritten)
+     * @param count Number of products
+     * @return Number of bytes written
+     * @throws IOException If the file cannot be written
+     */
+    public long writeCsv(Path file, long count) throws IOException {
+        if (count < 0 || count > MAX_COUNT) {
+            throw new IllegalArgumentException("Count must be between 0 and " + MAX_COUNT + ": " + count);
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("id,name,category,price,description\n");
+            StringBuilder line = new StringBuilder(128);
+            for (long i = 0; i < count; i++) {
+                Product product = generate(i);
+                line.setLength(0);
+                line.append(product.getProductId()).append(',');
+                appendCsvField(line, product.getProductName()).append(',');
+                appendCsvField(line, product.getCategory()).append(',');
+                long cents = Math.round(product.getPrice() * 100);
+                line.append(cents / 100).append('.').append(cents % 100 < 10 ? "0" : "").append(cents % 100).append(',');
+                appendCsvField(line, product.getDescription()).append('\n');
+                writer.append(line);
+            }
+        }
+        return Files.size(file);
+    }
+    
+    /**
+     * Write a catalog to a JSON Lines file, one object per line
+     * Keys: id, name, category, price, description
+     * Time Complexity: O(count), O(1) heap
+     * 
+     * @param file Output file (overwritten)
+     * @param count Number of products
+     * @return Number of bytes written
+     * @throws IOException If the file cannot be written
+     */
+    public long writeJsonLines(Path file, long count) throws IOException {
+        if (count < 0 || count > MAX_COUNT) {
+            throw new IllegalArgumentException("Count must be between 0 and " + MAX_COUNT + ": " + count);
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            StringBuilder line = new StringBuilder(160);
+            for (long i = 0; i < count; i++) {
+                Product product = generate(i);
+                line.setLength(0);
+                line.append("{\"id\":").append(product.getProductId()).append(",\"name\":");
+                appendJsonString(line, product.getProductName()).append(",\"category\":");
+                appendJsonString(line, product.getCategory()).append(",\"price\":");
+                long cents = Math.round(product.getPrice() * 100);
+                line.append(cents / 100).append('.').append(cents % 100 < 10 ? "0" : "").append(cents % 100);
+                line.append(",\"description\":");
+                appendJsonString(line, product.getDescription()).append("}\n");
+                writer.append(line);
+            }
+        }
+        return Files.size(file);
+    }
+    
+    /**
+     * Get the seed of this generator
+     * @return Seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+    
+    private static StringBuilder appendCsvField(StringBuilder line, String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return line.append(value);
+        }
+        return line.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+    
+    private static StringBuilder appendJsonString(StringBuilder line, String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.append('\\').append(c);
+            } else if (c < 0x20) {
+                line.append(String.format("\\u%04x", (int) c));
+            } else {
+                line.append(c);
+            }
+        }
+        return line.append('"');
+    }
+    
+    /**
+     * SplitMix64 finalizer: a well-mixed 64-bit hash of the input
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+    
+    /**
+     * Top 53 bits as a double in [0, 1)
+     */
+    private static double toUnit(long bits) {
+        return (bits >>> 11) * 0x1.0p-53;
+    }
+    
+    /**
+     * Spliterator over a range of record indexes; splitting halves the range
+     */
+    private class RecordSpliterator implements Spliterator<Product> {
+        private long next;
+        private final long end;
+        
+        RecordSpliterator(long next, long end) {
+            this.next = next;
+            this.end = end;
+        }
+        
+        @Override
+        public boolean tryAdvance(Consumer<? super Product> action) {
+            if (next >= end) {
+                return false;
+            }
+            action.accept(generate(next++));
+            return true;
+        }
+        
+        @Override
+        public void forEachRemaining(Consumer<? super Product> action) {
+            while (next < end) {
+                action.accept(generate(next++));
+            }
+        }
+        
+        @Override
+        public Spliterator<Product> trySplit() {
+            long remaining = end - next;
+            if (remaining < 1024) {
+                return null;
+            }
+            long mid = next + remaining / 2;
+            RecordSpliterator prefix = new RecordSpliterator(next, mid);
+            next = mid;
+            return prefix;
+        }
+        
+        @Override
+        public long estimateSize() {
+            return end - next;
+        }
+        
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE | DISTINCT;
+        }
+    }
+}
\ No newline at end of file
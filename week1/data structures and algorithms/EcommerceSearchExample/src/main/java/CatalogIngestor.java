@@ -0,0 +1,900 @@
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * CatalogIngestor class streaming products from CSV or JSON Lines catalog files into the search indexes
+ * A parser thread reads the file through a FileChannel into a reusable byte buffer and decodes records
+ * straight from the bytes: IDs and prices are parsed without Strings and repeated categories are
+ * matched by their bytes, so only names and descriptions allocate
+ * Products are handed to the caller in fixed-size batches through a bounded queue; when the consumer
+ * (e.g. an index build) falls behind, the parser blocks instead of reading ahead (back-pressure),
+ * so heap use is O(batchSize * queueCapacity) whatever the file size
+ */
+public class CatalogIngestor {
+    public static final int DEFAULT_BATCH_SIZE = 4096;
+    public static final int DEFAULT_QUEUE_CAPACITY = 8;
+    private static final int READ_BUFFER_SIZE = 1 << 20;
+    // Categories beyond this many are interned through a HashMap instead of the byte dictionary
+    private static final int MAX_DICTIONARY_CATEGORIES = 64;
+    // Marks the end of the stream in the queue
+    private static final Product[] END = new Product[0];
+    
+    private static final int ID = 0;
+    private static final int NAME = 1;
+    private static final int CATEGORY = 2;
+    private static final int PRICE = 3;
+    private static final int DESCRIPTION = 4;
+    private static final int IGNORED = -1;
+    private static final byte[][] FIELD_NAMES = {
+        bytes("id"), bytes("name"), bytes("category"), bytes("price"), bytes("description")
+    };
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+    
+    private final int batchSize;
+    private final int queueCapacity;
+    
+    /**
+     * Constructor for CatalogIngestor with the default batch size and queue capacity
+     */
+    public CatalogIngestor() {
+        this(DEFAULT_BATCH_SIZE, DEFAULT_QUEUE_CAPACITY);
+    }
+    
+    /**
+     * Constructor for CatalogIngestor
+     * @param batchSize Products per batch handed to the consumer
+     * @param queueCapacity Parsed batches allowed to wait for the consumer before the parser blocks
+     */
+    public CatalogIngestor(int batchSize, int queueCapacity) {
+        if (batchSize <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Batch size and queue capacity must be positive");
+        }
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+    }
+    
+    /**
+     * Stream every product of a catalog file to a consumer
+     * Files ending in .jsonl or .ndjson are read as JSON Lines (one object per line with keys id, name,
+     * category, price, description); any other file is CSV whose header row names those columns in any
+     * order. Unknown columns and keys are ignored; id is required, the other fields default to "" or 0
+     * Time Complexity: O(file size); the consumer runs on the calling thread while the next batches are parsed
+     * 
+     * @param file Catalog file
+     * @param sink Called with each batch of products, in file order
+     * @return Ingestion statistics
+     * @throws IOException If the file cannot be read or a record is malformed (the message names its line)
+     */
+    public Stats ingest(Path file, Consumer<Product[]> sink) throws IOException {
+        BlockingQueue<Product[]> queue = new ArrayBlockingQueue<>(queueCapacity);
+        String fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        Parser parser = new Parser(file, fileName.endsWith(".jsonl") || fileName.endsWith(".ndjson"), queue);
+        Thread thread = new Thread(parser, "catalog-parser");
+        thread.setDaemon(true);
+        long start = System.nanoTime();
+        long consumerNanos = 0;
+        thread.start();
+        try {
+            Product[] batch;
+            while ((batch = queue.take()) != END) {
+                long consumerStart = System.nanoTime();
+                sink.accept(batch);
+                consumerNanos += System.nanoTime() - consumerStart;
+            }
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while ingesting " + file);
+        } finally {
+            // Stops a parser blocked on the queue if the consumer failed
+            thread.interrupt();
+        }
+        if (parser.error instanceof IOException) {
+            throw (IOException) parser.error;
+        } else if (parser.error instanceof RuntimeException) {
+            throw (RuntimeException) parser.error;
+        } else if (parser.error != null) {
+            throw (Error) parser.error;
+        }
+        return new Stats(parser.records, parser.bytesRead, System.nanoTime() - start,
+                         parser.blockedNanos, consumerNanos);
+    }
+    
+    /**
+     * Ingest a catalog file into a hash index and a sorted columnar catalog, generating the file first
+     * if it does not exist (JSON Lines if it ends in .jsonl, otherwise CSV)
+     * Usage: java CatalogIngestor <file.csv|file.jsonl> [count] [batchSize] [queueCapacity]
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: java CatalogIngestor <file.csv|file.jsonl> [count] [batchSize] [queueCapacity]");
+            return;
+        }
+        Path file = Paths.get(args[0]);
+        long count = args.length > 1 ? Long.parseLong(args[1].replace("_", "")) : 1_000_000;
+        int batchSize = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_BATCH_SIZE;
+        int queueCapacity = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_QUEUE_CAPACITY;
+        if (!Files.exists(file)) {
+            CatalogGenerator generator = new CatalogGenerator(42);
+            long bytes = args[0].endsWith(".jsonl") ? generator.writeJsonLines(file, count) : generator.writeCsv(file, count);
+            System.out.printf("✓ Generated %,d products (%,d bytes) in %s%n", count, bytes, file);
+        }
+        
+        // Each batch goes into the hash index as it arrives; the sorted catalog is built once at the end
+        ProductIdIndex idIndex = new ProductIdIndex();
+        List<Product> all = new ArrayList<>();
+        Stats stats = new CatalogIngestor(batchSize, queueCapacity).ingest(file, batch -> {
+            for (Product product : batch) {
+                idIndex.put(product);
+            }
+            all.addAll(Arrays.asList(batch));
+        });
+        
+        long start = System.nanoTime();
+        ProductCatalog catalog = ProductCatalog.fromProducts(all.toArray(new Product[0]));
+        double sortSeconds = (System.nanoTime() - start) / 1e9;
+        
+        System.out.println("=== CATALOG INGESTION (" + file + ") ===");
+        System.out.println(stats);
+        System.out.printf("Hash index: %,d products; sorted columnar catalog built in %.2f s%n", idIndex.size(), sortSeconds);
+        if (catalog.size() > 0) {
+            int id = catalog.getProductId(catalog.size() / 2);
+            System.out.println("Sample lookup: " + idIndex.get(id));
+        }
+    }
+    
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Parser class running on its own thread: reads the file, decodes records and publishes batches
+     */
+    private final class Parser implements Runnable {
+        private final Path file;
+        private final boolean jsonLines;
+        private final BlockingQueue<Product[]> queue;
+        private byte[] buffer = new byte[READ_BUFFER_SIZE];
+        private ByteBuffer readBuffer = ByteBuffer.wrap(buffer);
+        private FileChannel channel;
+        private int position;
+        private int limit;
+        private boolean endOfFile;
+        private long line = 1;
+        // Lines taken by the record returned by nextRecordEnd (quoted CSV fields may contain line breaks)
+        private int newlines;
+        private byte[] scratch = new byte[256];
+        // CSV: field kind of each column, and the bounds of each field of the current record
+        private int[] columns;
+        private int[] fieldStarts;
+        private int[] fieldEnds;
+        private boolean[] fieldsEscaped;
+        // Bounds of the last JSON string or value scanned
+        private int tokenStart;
+        private int tokenEnd;
+        private boolean tokenEscaped;
+        // Fields of the record being decoded
+        private long id;
+        private boolean hasId;
+        private String name;
+        private String category;
+        private double price;
+        private String description;
+        private final byte[][] categoryBytes = new byte[MAX_DICTIONARY_CATEGORIES][];
+        private final String[] categoryNames = new String[MAX_DICTIONARY_CATEGORIES];
+        private int categoryCount;
+        private final Map<String, String> extraCategories = new HashMap<>();
+        private long records;
+        private long bytesRead;
+        private long blockedNanos;
+        private volatile Throwable error;
+        
+        Parser(Path file, boolean jsonLines, BlockingQueue<Product[]> queue) {
+            this.file = file;
+            this.jsonLines = jsonLines;
+            this.queue = queue;
+        }
+        
+        @Override
+        public void run() {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                this.channel = channel;
+                if (!jsonLines) {
+                    readHeader();
+                }
+                Product[] batch = new Product[batchSize];
+                int count = 0;
+                int end;
+                while ((end = nextRecordEnd()) >= 0) {
+                    Product product = jsonLines ? parseJson(position, end) : parseCsv(position, end);
+                    line += newlines;
+                    position = end + 1;
+                    if (product == null) {
+                        continue;
+                    }
+                    batch[count++] = product;
+                    records++;
+                    if (count == batchSize) {
+                        publish(batch);
+                        batch = new Product[batchSize];
+                        count = 0;
+                    }
+                }
+                if (count > 0) {
+                    publish(Arrays.copyOf(batch, count));
+                }
+            } catch (InterruptedException e) {
+                // ingest interrupts the parser when the consumer has stopped; keep the flag for the finally block
+                Thread.currentThread().interrupt();
+            } catch (Throwable t) {
+                error = t;
+            } finally {
+                // Once interrupted nobody reads the queue, so a blocking put would wait forever
+                if (!Thread.currentThread().isInterrupted()) {
+                    try {
+                        queue.put(END);
+                    } catch (InterruptedException e) {
+                        // The consumer stopped while the queue was full
+                    }
+                }
+            }
+        }
+        
+        /**
+         * Hand a full batch to the consumer, waiting while the queue is full
+         */
+        private void publish(Product[] batch) throws InterruptedException {
+            if (!queue.offer(batch)) {
+                long start = System.nanoTime();
+                queue.put(batch);
+                blockedNanos += System.nanoTime() - start;
+            }
+        }
+        
+        /**
+         * Find the line break ending the record at position, reading more of the file as needed
+         * @return Buffer index of the terminating '\n', or -1 at the end of the file
+         */
+        private int nextRecordEnd() throws IOException {
+            int scan = position;
+            boolean quoted = false;
+            newlines = 1;
+            while (true) {
+                while (scan < limit) {
+                    byte b = buffer[scan];
+                    if (b == '"' && !jsonLines) {
+                        quoted = !quoted;
+                    } else if (b == '\n') {
+                        if (!quoted) {
+                            return scan;
+                        }
+                        newlines++;
+                    }
+                    scan++;
+                }
+                if (endOfFile) {
+                    if (position == limit) {
+                        return -1;
+                    }
+                    if (quoted) {
+                        throw malformed("unterminated quoted field");
+                    }
+                    // Last record without a trailing line break
+                    if (limit == buffer.length) {
+                        grow();
+                    }
+                    buffer[limit++] = '\n';
+                    continue;
+                }
+                scan -= fill();
+            }
+        }
+        
+        /**
+         * Move the unread bytes to the start of the buffer (growing it for very long records) and read more
+         * @return Number of positions the unread bytes moved back
+         */
+        private int fill() throws IOException {
+            int shift = position;
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+            if (limit == buffer.length) {
+                grow();
+            }
+            readBuffer.limit(buffer.length).position(limit);
+            int read = channel.read(readBuffer);
+            if (read < 0) {
+                endOfFile = true;
+            } else {
+                limit += read;
+                bytesRead += read;
+            }
+            return shift;
+        }
+        
+        private void grow() {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            readBuffer = ByteBuffer.wrap(buffer);
+        }
+        
+        /**
+         * Read the CSV header row and map its columns to product fields
+         */
+        private void readHeader() throws IOException {
+            int end = nextRecordEnd();
+            if (end < 0) {
+                throw new IOException(file + ": empty CSV file (a header row is required)");
+            }
+            if (end - position >= 3 && buffer[position] == (byte) 0xEF && buffer[position + 1] == (byte) 0xBB
+                && buffer[position + 2] == (byte) 0xBF) {
+                // Skip a UTF-8 byte order mark
+                position += 3;
+            }
+            int fieldCount = splitCsv(position, trimCarriageReturn(position, end), Integer.MAX_VALUE - 1);
+            columns = new int[fieldCount];
+            boolean idColumn = false;
+            for (int i = 0; i < fieldCount; i++) {
+                columns[i] = fieldKind(buffer, fieldStarts[i], fieldEnds[i]);
+                idColumn |= columns[i] == ID;
+            }
+            if (!idColumn) {
+                throw malformed("header has no id column");
+            }
+            line += newlines;
+            position = end + 1;
+        }
+        
+        /**
+         * Decode one CSV record
+         * @return Product, or null for a blank line
+         */
+        private Product parseCsv(int start, int end) throws IOException {
+            end = trimCarriageReturn(start, end);
+            if (start == end) {
+                return null;
+            }
+            int fieldCount = splitCsv(start, end, columns.length);
+            if (fieldCount != columns.length) {
+                throw malformed("expected " + columns.length + " fields, found " + fieldCount);
+            }
+            resetFields();
+            for (int i = 0; i < fieldCount; i++) {
+                setField(columns[i], fieldStarts[i], fieldEnds[i], fieldsEscaped[i], false);
+            }
+            return product();
+        }
+        
+        /**
+         * Record the bounds of each field of a CSV record; quotes are removed, doubled quotes are left
+         * for decoding and flagged as escaped
+         * The field arrays grow as needed, so a header may have any number of columns
+         * @return Number of fields (at most maxFields; one more signals too many)
+         */
+        private int splitCsv(int start, int end, int maxFields) throws IOException {
+            if (fieldStarts == null) {
+                fieldStarts = new int[16];
+                fieldEnds = new int[16];
+                fieldsEscaped = new boolean[16];
+            }
+            int fields = 0;
+            int p = start;
+            while (fields <= maxFields) {
+                if (fields == fieldStarts.length) {
+                    fieldStarts = Arrays.copyOf(fieldStarts, fields * 2);
+                    fieldEnds = Arrays.copyOf(fieldEnds, fields * 2);
+                    fieldsEscaped = Arrays.copyOf(fieldsEscaped, fields * 2);
+                }
+                boolean escaped = false;
+                if (p < end && buffer[p] == '"') {
+                    fieldStarts[fields] = ++p;
+                    while (true) {
+                        if (p >= end) {
+                            throw malformed("unterminated quoted field");
+                        }
+                        if (buffer[p] == '"') {
+                            if (p + 1 < end && buffer[p + 1] == '"') {
+                                escaped = true;
+                                p += 2;
+                                continue;
+                            }
+                            break;
+                        }
+                        p++;
+                    }
+                    fieldEnds[fields] = p++;
+                    if (p < end && buffer[p] != ',') {
+                        throw malformed("unexpected character after quoted field");
+                    }
+                } else {
+                    fieldStarts[fields] = p;
+                    while (p < end && buffer[p] != ',') {
+                        p++;
+                    }
+                    fieldEnds[fields] = p;
+                }
+                fieldsEscaped[fields++] = escaped;
+                if (p == end) {
+                    break;
+                }
+                p++;
+            }
+            return fields;
+        }
+        
+        /**
+         * Decode one JSON Lines record: a flat object; values of unknown keys may be any JSON value
+         * @return Product, or null for a blank line
+         */
+        private Product parseJson(int start, int end) throws IOException {
+            int p = skipWhitespace(start, end);
+            if (p == end) {
+                return null;
+            }
+            if (buffer[p] != '{') {
+                throw malformed("expected '{'");
+            }
+            resetFields();
+            p = skipWhitespace(p + 1, end);
+            if (p < end && buffer[p] == '}') {
+                p++;
+            } else {
+                while (true) {
+                    if (p >= end || buffer[p] != '"') {
+                        throw malformed("expected a key");
+                    }
+                    p = scanJsonString(p, end);
+                    int kind = tokenEscaped ? IGNORED : fieldKind(buffer, tokenStart, tokenEnd);
+                    p = skipWhitespace(p, end);
+                    if (p >= end || buffer[p] != ':') {
+                        throw malformed("expected ':'");
+                    }
+                    p = skipWhitespace(p + 1, end);
+                    if (p >= end) {
+                        throw malformed("missing value");
+                    }
+                    if (buffer[p] == '"') {
+                        p = scanJsonString(p, end);
+                        setField(kind, tokenStart, tokenEnd, tokenEscaped, true);
+                    } else if (buffer[p] == '{' || buffer[p] == '[') {
+                        p = skipJsonContainer(p, end);
+                    } else {
+                        int valueStart = p;
+                        while (p < end && buffer[p] != ',' && buffer[p] != '}' && !isWhitespace(buffer[p])) {
+                            p++;
+                        }
+                        if (!(p - valueStart == 4 && buffer[valueStart] == 'n')) {
+                            setField(kind, valueStart, p, false, true);
+                        }
+                    }
+                    p = skipWhitespace(p, end);
+                    if (p < end && buffer[p] == ',') {
+                        p = skipWhitespace(p + 1, end);
+                    } else if (p < end && buffer[p] == '}') {
+                        p++;
+                        break;
+                    } else {
+                        throw malformed("expected ',' or '}'");
+                    }
+                }
+            }
+            if (skipWhitespace(p, end) != end) {
+                throw malformed("unexpected characters after the object");
+            }
+            return product();
+        }
+        
+        /**
+         * Scan a JSON string starting at its opening quote
+         * @return Position after the closing quote; tokenStart/tokenEnd hold the raw contents
+         */
+        private int scanJsonString(int p, int end) throws IOException {
+            tokenStart = ++p;
+            tokenEscaped = false;
+            while (p < end && buffer[p] != '"') {
+                if (buffer[p] == '\\') {
+                    tokenEscaped = true;
+                    p++;
+                }
+                p++;
+            }
+            if (p >= end) {
+                throw malformed("unterminated string");
+            }
+            tokenEnd = p;
+            return p + 1;
+        }
+        
+        /**
+         * Skip a nested object or array value
+         */
+        private int skipJsonContainer(int p, int end) throws IOException {
+            int depth = 0;
+            while (p < end) {
+                byte b = buffer[p];
+                if (b == '"') {
+                    p = scanJsonString(p, end);
+                    continue;
+                }
+                if (b == '{' || b == '[') {
+                    depth++;
+                } else if ((b == '}' || b == ']') && --depth == 0) {
+                    return p + 1;
+                }
+                p++;
+            }
+            throw malformed("unterminated nested value");
+        }
+        
+        private void resetFields() {
+            hasId = false;
+            name = "";
+            category = "";
+            price = 0;
+            description = "";
+        }
+        
+        /**
+         * Decode a field value from buffer[start, end) into the record being built
+         */
+        private void setField(int kind, int start, int end, boolean escaped, boolean json) throws IOException {
+            byte[] source = buffer;
+            if (escaped && kind != IGNORED) {
+                end = json ? unescapeJson(start, end) : unescapeCsv(start, end);
+                start = 0;
+                source = scratch;
+            }
+            switch (kind) {
+                case ID:
+                    id = parseLong(source, start, end);
+                    if (id < Integer.MIN_VALUE || id > Integer.MAX_VALUE) {
+                        throw malformed("id out of range");
+                    }
+                    hasId = true;
+                    break;
+                case NAME:
+                    name = new String(source, start, end - start, StandardCharsets.UTF_8);
+                    break;
+                case CATEGORY:
+                    category = category(source, start, end);
+                    break;
+                case PRICE:
+                    price = parsePrice(source, start, end);
+                    break;
+                case DESCRIPTION:
+                    description = new String(source, start, end - start, StandardCharsets.UTF_8);
+                    break;
+                default:
+                    break;
+            }
+        }
+        
+        private Product product() throws IOException {
+            if (!hasId) {
+                throw malformed("missing id");
+            }
+            return new Product((int) id, name, category, price, description);
+        }
+        
+        /**
+         * Get the shared String for a category, creating it only the first time its bytes are seen
+         */
+        private String category(byte[] source, int start, int end) {
+            for (int i = 0; i < categoryCount; i++) {
+                byte[] known = categoryBytes[i];
+                if (Arrays.equals(known, 0, known.length, source, start, end)) {
+                    return categoryNames[i];
+                }
+            }
+            String value = new String(source, start, end - start, StandardCharsets.UTF_8);
+            if (categoryCount < MAX_DICTIONARY_CATEGORIES) {
+                categoryBytes[categoryCount] = Arrays.copyOfRange(source, start, end);
+                categoryNames[categoryCount++] = value;
+                return value;
+            }
+            return extraCategories.computeIfAbsent(value, v -> v);
+        }
+        
+        /**
+         * Parse a decimal integer from bytes
+         */
+        private long parseLong(byte[] source, int start, int end) throws IOException {
+            boolean negative = start < end && source[start] == '-';
+            int p = negative ? start + 1 : start;
+            if (p == end || end - p > 18) {
+                throw malformed("invalid integer");
+            }
+            long value = 0;
+            for (; p < end; p++) {
+                int digit = source[p] - '0';
+                if (digit < 0 || digit > 9) {
+                    throw malformed("invalid integer");
+                }
+                value = value * 10 + digit;
+            }
+            return negative ? -value : value;
+        }
+        
+        /**
+         * Parse a price; plain decimals like 19.99 are computed as 1999 / 100.0, which rounds exactly like
+         * Double.parseDouble, and anything else (exponents, long mantissas) falls back to it
+         */
+        private double parsePrice(byte[] source, int start, int end) throws IOException {
+            boolean negative = start < end && source[start] == '-';
+            int p = negative ? start + 1 : start;
+            long mantissa = 0;
+            int digits = 0;
+            int fractionDigits = -1;
+            for (; p < end; p++) {
+                byte b = source[p];
+                if (b == '.' && fractionDigits < 0) {
+                    fractionDigits = 0;
+                } else if (b >= '0' && b <= '9' && digits < 15) {
+                    mantissa = mantissa * 10 + (b - '0');
+                    digits++;
+                    if (fractionDigits >= 0) {
+                        fractionDigits++;
+                    }
+                } else {
+                    break;
+                }
+            }
+            if (p == end && digits > 0) {
+                double value = mantissa / POWERS_OF_TEN[Math.max(0, fractionDigits)];
+                return negative ? -value : value;
+            }
+            try {
+                return Double.parseDouble(new String(source, start, end - start, StandardCharsets.ISO_8859_1));
+            } catch (NumberFormatException e) {
+                throw malformed("invalid price");
+            }
+        }
+        
+        /**
+         * Copy a quoted CSV field into scratch with each doubled quote reduced to one
+         * @return Length in scratch
+         */
+        private int unescapeCsv(int start, int end) {
+            ensureScratch(end - start);
+            int length = 0;
+            for (int p = start; p < end; p++) {
+                scratch[length++] = buffer[p];
+                if (buffer[p] == '"') {
+                    p++;
+                }
+            }
+            return length;
+        }
+        
+        /**
+         * Copy a JSON string into scratch as UTF-8 with its escape sequences decoded
+         * @return Length in scratch
+         */
+        private int unescapeJson(int start, int end) throws IOException {
+            // An escape never decodes to more bytes than it occupies (\\uXXXX -> at most 3, a pair -> 4)
+            ensureScratch(end - start);
+            int length = 0;
+            for (int p = start; p < end; p++) {
+                byte b = buffer[p];
+                if (b != '\\') {
+                    scratch[length++] = b;
+                    continue;
+                }
+                if (++p >= end) {
+                    throw malformed("invalid escape");
+                }
+                switch (buffer[p]) {
+                    case '"':
+                    case '\\':
+                    case '/':
+                        scratch[length++] = buffer[p];
+                        break;
+                    case 'b':
+                        scratch[length++] = '\b';
+                        break;
+                    case 'f':
+                        scratch[length++] = '\f';
+                        break;
+                    case 'n':
+                        scratch[length++] = '\n';
+                        break;
+                    case 'r':
+                        scratch[length++] = '\r';
+                        break;
+                    case 't':
+                        scratch[length++] = '\t';
+                        break;
+                    case 'u':
+                        int codePoint = hex4(p + 1, end);
+                        p += 4;
+                        if (Character.isHighSurrogate((char) codePoint) && p + 6 < end
+                            && buffer[p + 1] == '\\' && buffer[p + 2] == 'u') {
+                            int low = hex4(p + 3, end);
+                            if (Character.isLowSurrogate((char) low)) {
+                                codePoint = Character.toCodePoint((char) codePoint, (char) low);
+                                p += 6;
+                            }
+                        }
+                        length = appendUtf8(codePoint, length);
+                        break;
+                    default:
+                        throw malformed("invalid escape");
+                }
+            }
+            return length;
+        }
+        
+        private int hex4(int p, int end) throws IOException {
+            if (p + 4 > end) {
+                throw malformed("invalid \\u escape");
+            }
+            int value = 0;
+            for (int i = p; i < p + 4; i++) {
+                int digit = Character.digit(buffer[i], 16);
+                if (digit < 0) {
+                    throw malformed("invalid \\u escape");
+                }
+                value = value * 16 + digit;
+            }
+            return value;
+        }
+        
+        private int appendUtf8(int codePoint, int length) {
+            if (codePoint < 0x80) {
+                scratch[length++] = (byte) codePoint;
+            } else if (codePoint < 0x800) {
+                scratch[length++] = (byte) (0xC0 | codePoint >> 6);
+                scratch[length++] = (byte) (0x80 | codePoint & 0x3F);
+            } else if (codePoint < 0x10000) {
+                scratch[length++] = (byte) (0xE0 | codePoint >> 12);
+                scratch[length++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                scratch[length++] = (byte) (0x80 | codePoint & 0x3F);
+            } else {
+                scratch[length++] = (byte) (0xF0 | codePoint >> 18);
+                scratch[length++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                scratch[length++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                scratch[length++] = (byte) (0x80 | codePoint & 0x3F);
+            }
+            return length;
+        }
+        
+        private void ensureScratch(int length) {
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+        }
+        
+        /**
+         * Map a column name or JSON key to a product field
+         */
+        private int fieldKind(byte[] source, int start, int end) {
+            for (int kind = 0; kind < FIELD_NAMES.length; kind++) {
+                byte[] fieldName = FIELD_NAMES[kind];
+                if (Arrays.equals(fieldName, 0, fieldName.length, source, start, end)) {
+                    return kind;
+                }
+            }
+            return IGNORED;
+        }
+        
+        private int trimCarriageReturn(int start, int end) {
+            return end > start && buffer[end - 1] == '\r' ? end - 1 : end;
+        }
+        
+        private int skipWhitespace(int p, int end) {
+            while (p < end && isWhitespace(buffer[p])) {
+                p++;
+            }
+            return p;
+        }
+        
+        private boolean isWhitespace(byte b) {
+            return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+        }
+        
+        private IOException malformed(String problem) {
+            return new IOException(file + ":" + line + ": malformed record (" + problem + ")");
+        }
+    }
+    
+    /**
+     * Stats class summarizing one ingestion
+     */
+    public static final class Stats {
+        private final long records;
+        private final long bytes;
+        private final long nanos;
+        private final long parserBlockedNanos;
+        private final long consumerNanos;
+        
+        private Stats(long records, long bytes, long nanos, long parserBlockedNanos, long consumerNanos) {
+            this.records = records;
+            this.bytes = bytes;
+            this.nanos = nanos;
+            this.parserBlockedNanos = parserBlockedNanos;
+            this.consumerNanos = consumerNanos;
+        }
+        
+        /**
+         * Get number of products read
+         * @return Record count
+         */
+        public long getRecords() {
+            return records;
+        }
+        
+        /**
+         * Get number of bytes read from the file
+         * @return Byte count
+         */
+        public long getBytes() {
+            return bytes;
+        }
+        
+        /**
+         * Get wall-clock time of the whole ingestion
+         * @return Seconds
+         */
+        public double getSeconds() {
+            return nanos / 1e9;
+        }
+        
+        /**
+         * Get throughput in records
+         * @return Records per second
+         */
+        public double getRecordsPerSecond() {
+            return nanos == 0 ? 0 : records * 1e9 / nanos;
+        }
+        
+        /**
+         * Get throughput in bytes
+         * @return Megabytes (10^6 bytes) per second
+         */
+        public double getMegabytesPerSecond() {
+            return nanos == 0 ? 0 : bytes * 1e3 / nanos;
+        }
+        
+        /**
+         * Get time the parser waited because the consumer was behind (back-pressure)
+         * @return Seconds
+         */
+        public double getParserBlockedSeconds() {
+            return parserBlockedNanos / 1e9;
+        }
+        
+        /**
+         * Get time spent in the consumer
+         * @return Seconds
+         */
+        public double getConsumerSeconds() {
+            return consumerNanos / 1e9;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%,d records (%,d bytes) in %.2f s: %,.0f records/s, %.1f MB/s; "
+                                 + "consumer %.2f s, parser blocked by back-pressure %.2f s",
+                                 records, bytes, getSeconds(), getRecordsPerSecond(), getMegabytesPerSecond(),
+                                 getConsumerSeconds(), getParserBlockedSeconds());
+        }
+    }
+} 
\ No newline at end of file
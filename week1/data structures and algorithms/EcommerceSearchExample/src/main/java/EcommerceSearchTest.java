@@ -1,9 +1,28 @@
+import java.util.Arrays;
+
 /**
  * EcommerceSearchTest class demonstrating search algorithms for e-commerce platform
  * Includes Big O notation explanation, algorithm analysis, and practical testing
  */
 public class EcommerceSearchTest {
     public static void main(String[] args) {
+        // Optional switch: compare lookup engines on large generated ID sets instead of the walkthrough
+        if (args.length > 0 && args[0].equals("--compare-lookup")) {
+            compareLookupEngines(args);
+            return;
+        }
+        // Optional switch: run many quiet searches from several threads and dump the metrics registry
+        if (args.length > 0 && args[0].equals("--metrics")) {
+            reportQuietSearchMetrics(args);
+            return;
+        }
+        
+        // Optional switch: time "cheapest first" pages with a full sort, a bounded heap and lazy sorting
+        if (args.length > 0 && args[0].equals("--top-k")) {
+            compareCheapestPages(args);
+            return;
+        }
+        
         System.out.println("=== E-COMMERCE SEARCH ALGORITHM ANALYSIS ===\n");
         
         // Step 1: Understand Asymptotic Notation
@@ -97,6 +116,34 @@ public class EcommerceSearchTest {
         
         // Test unsuccessful search by name
         testBinarySearchByName(sortedByName, "NonExistent", "Non-existent element");
+        
+        System.out.println("\nTesting Autocomplete (Prefix Search, Cheapest First):");
+        System.out.println("-".repeat(50));
+        testAutocomplete();
+    }
+    
+    /**
+     * Complete a few prefixes and report the autocomplete index footprint on a larger generated catalog
+     */
+    private static void testAutocomplete() {
+        AutocompleteIndex index = AutocompleteIndex.byLowestPrice(SearchAlgorithms.generateSampleProducts());
+        for (String prefix : new String[] {"M", "co", "s"}) {
+            System.out.println("\nCompleting \"" + prefix + "\" (" + index.countMatches(prefix) + " matches):");
+            for (Product product : index.complete(prefix, 3)) {
+                System.out.println("  " + product);
+            }
+        }
+        
+        boolean wasVerbose = SearchAlgorithms.isVerbose();
+        SearchAlgorithms.setVerbose(false);
+        try {
+            AutocompleteIndex large = AutocompleteIndex.byLowestPrice(SearchAlgorithms.generateSampleProducts(200_000, 42));
+            System.out.printf("%nFootprint on %,d generated names: %,d heavy prefixes, %.1f MB per million names "
+                              + "(excluding the Product objects)%n",
+                              large.size(), large.getHeavyPrefixCount(), large.estimateBytesPerMillionNames() / 1e6);
+        } finally {
+            SearchAlgorithms.setVerbose(wasVerbose);
+        }
     }
     
     /**
@@ -132,6 +179,187 @@ public class EcommerceSearchTest {
         }
     }
     
+    /**
+     * Compare SearchAlgorithms.binarySearch with EytzingerIndex.find on generated catalogs
+     * Usage: java EcommerceSearchTest --compare-lookup [size ...] (default 1M and 10M; 10M needs about -Xmx2g)
+     */
+    private static void compareLookupEngines(String[] args) {
+        int[] sizes = args.length > 1 ? new int[args.length - 1] : new int[] {1_000_000, 10_000_000};
+        for (int i = 1; i < args.length; i++) {
+            sizes[i - 1] = Integer.parseInt(args[i].replace("_", ""));
+        }
+        int lookups = 5_000_000;
+        
+        System.out.println("=== LOOKUP ENGINE COMPARISON (" + lookups + " random lookups per size) ===");
+        System.out.println("Binary: SearchAlgorithms.binarySearch (records SearchMetrics per call); Eytzinger: EytzingerIndex.find");
+        System.out.println("-".repeat(70));
+        System.out.printf("%-14s %-18s %-18s %-10s%n", "IDs", "Binary (ns/op)", "Eytzinger (ns/op)", "Speedup");
+        System.out.println("-".repeat(70));
+        
+        java.util.Random random = new java.util.Random(42);
+        boolean wasVerbose = SearchAlgorithms.isVerbose();
+        SearchAlgorithms.setVerbose(false);
+        try {
+            for (int size : sizes) {
+                // Strictly increasing IDs with random gaps, so roughly half the probes miss
+                Product[] products = new Product[size];
+                int id = 1000;
+                for (int i = 0; i < size; i++) {
+                    id += 1 + random.nextInt(3);
+                    products[i] = new Product(id, "Product", "General", 9.99, null);
+                }
+                int[] targets = new int[lookups];
+                for (int i = 0; i < lookups; i++) {
+                    targets[i] = 1000 + random.nextInt(id - 1000 + 1);
+                }
+                EytzingerIndex index = EytzingerIndex.fromCatalog(ProductCatalog.fromProducts(products));
+                
+                // Warm up both searches so the JIT has compiled them before timing
+                timeBinaryLookups(products, targets);
+                timeEytzingerLookups(index, targets);
+                double binaryNs = (double) timeBinaryLookups(products, targets) / lookups;
+                double eytzingerNs = (double) timeEytzingerLookups(index, targets) / lookups;
+                
+                System.out.printf("%-14s %-18.1f %-18.1f %.2fx%n",
+                                  String.format("%,d", size), binaryNs, eytzingerNs, binaryNs / eytzingerNs);
+            }
+        } finally {
+            SearchAlgorithms.setVerbose(wasVerbose);
+        }
+        System.out.println("-".repeat(70));
+    }
+    
+    /**
+     * Run searches in quiet mode on all cores, then print the SearchMetrics report
+     * Usage: java EcommerceSearchTest --metrics [lookups] (default 1,000,000)
+     */
+    private static void reportQuietSearchMetrics(String[] args) {
+        int lookups = args.length > 1 ? Integer.parseInt(args[1].replace("_", "")) : 1_000_000;
+        int size = 100_000;
+        
+        // Generated IDs are even, so odd targets miss
+        Product[] products = SearchAlgorithms.generateSampleProducts(size, 42);
+        ProductIdIndex hashIndex = ProductIdIndex.fromProducts(products);
+        ProductCatalog catalog = ProductCatalog.fromProducts(products);
+        int maxId = CatalogGenerator.FIRST_ID + 2 * size;
+        
+        SearchAlgorithms.setVerbose(false);
+        try {
+            java.util.stream.IntStream.range(0, lookups).parallel().forEach(i -> {
+                int targetId = CatalogGenerator.FIRST_ID + (int) ((i * 2654435761L) % (maxId - CatalogGenerator.FIRST_ID));
+                SearchAlgorithms.binarySearch(products, targetId);
+                SearchAlgorithms.binarySearch(catalog, targetId);
+                SearchAlgorithms.hashSearch(hashIndex, targetId);
+                if (i % 1000 == 0) {
+                    SearchAlgorithms.linearSearch(products, targetId);
+                }
+            });
+        } finally {
+            SearchAlgorithms.setVerbose(true);
+        }
+        SearchMetrics.printReport();
+    }
+    
+    /**
+     * Time the first pages of "cheapest in a category" with a full sort, top-k selection and lazy sorting
+     * Usage: java EcommerceSearchTest --top-k [size] (default 1,000,000)
+     */
+    private static void compareCheapestPages(String[] args) {
+        int size = args.length > 1 ? Integer.parseInt(args[1].replace("_", "")) : 1_000_000;
+        String category = "Electronics";
+        Product[] products = SearchAlgorithms.generateSampleProducts(size, 42);
+        ProductCatalog catalog = ProductCatalog.fromProducts(products);
+        
+        // The checks below read 11 pages (the first plus 10 more), so shrink pages to fit small categories
+        long categorySize = Arrays.stream(products).filter(product -> product.getCategory().equals(category)).count();
+        int pageSize = (int) Math.min(20, categorySize / 11);
+        if (pageSize == 0) {
+            System.out.printf("%s has only %d of %,d products; need at least 11 to compare pages%n",
+                              category, categorySize, size);
+            return;
+        }
+        
+        System.out.printf("=== CHEAPEST %d IN %s (%,d products, best of 5 runs) ===%n",
+                          pageSize, category.toUpperCase(), size);
+        long[] best = new long[5];
+        Arrays.fill(best, Long.MAX_VALUE);
+        boolean agree = true;
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            Product[] sorted = Arrays.stream(products)
+                .filter(product -> product.getCategory().equals(category))
+                .sorted(SearchAlgorithms.BY_PRICE)
+                .toArray(Product[]::new);
+            best[0] = Math.min(best[0], System.nanoTime() - start);
+            
+            start = System.nanoTime();
+            Product[] top = SearchAlgorithms.cheapestInCategory(products, category, pageSize);
+            best[1] = Math.min(best[1], System.nanoTime() - start);
+            
+            start = System.nanoTime();
+            int[] rows = catalog.cheapestRows(category, pageSize);
+            best[2] = Math.min(best[2], System.nanoTime() - start);
+            
+            start = System.nanoTime();
+            PriceOrderedResults results = PriceOrderedResults.inCategory(catalog, category);
+            Product[] firstPage = results.nextPage(pageSize);
+            best[3] = Math.min(best[3], System.nanoTime() - start);
+            start = System.nanoTime();
+            Product[] laterPage = null;
+            for (int page = 0; page < 10; page++) {
+                laterPage = results.nextPage(pageSize);
+            }
+            best[4] = Math.min(best[4], System.nanoTime() - start);
+            
+            agree &= top[pageSize - 1] == sorted[pageSize - 1]
+                     && catalog.getProduct(rows[pageSize - 1]) == sorted[pageSize - 1]
+                     && firstPage[pageSize - 1] == sorted[pageSize - 1]
+                     && laterPage[pageSize - 1] == sorted[11 * pageSize - 1];
+        }
+        System.out.printf("Full sort of the category:          %8.2f ms%n", best[0] / 1e6);
+        System.out.printf("Bounded heap (Product[]):           %8.2f ms%n", best[1] / 1e6);
+        System.out.printf("Bounded heap (columnar):            %8.2f ms%n", best[2] / 1e6);
+        System.out.printf("Lazy sort, first page:              %8.2f ms%n", best[3] / 1e6);
+        System.out.printf("Lazy sort, next 10 pages:           %8.2f ms%n", best[4] / 1e6);
+        System.out.println((agree ? "✓" : "✗") + " All methods return the same products in the same order");
+    }
+    
+    /**
+     * Time SearchAlgorithms.binarySearch over products sorted by ID
+     */
+    private static long timeBinaryLookups(Product[] products, int[] targets) {
+        long found = 0;
+        long start = System.nanoTime();
+        for (int target : targets) {
+            if (SearchAlgorithms.binarySearch(products, target) != null) {
+                found++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (found < 0) {
+            System.out.println(found);
+        }
+        return elapsed;
+    }
+    
+    /**
+     * Time EytzingerIndex.find, the branchless probe loop plus the catalog row lookup
+     */
+    private static long timeEytzingerLookups(EytzingerIndex index, int[] targets) {
+        long found = 0;
+        long start = System.nanoTime();
+        for (int target : targets) {
+            if (index.find(target) != null) {
+                found++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (found < 0) {
+            System.out.println(found);
+        }
+        return elapsed;
+    }
+    
     /**
      * Analyze and compare the algorithms
      */
@@ -147,6 +375,9 @@ public class EcommerceSearchTest {
         
         // Demonstrate performance
         AlgorithmAnalysis.demonstratePerformance();
+        
+        // Measured probe counts of the sorted-array searches on different ID distributions
+        AlgorithmAnalysis.reportProbeCounts(100_000, 10_000);
     }
     
     /**
@@ -0,0 +1,137 @@
+/**
+ * EytzingerIndex class re-laying sorted product IDs in Eytzinger (breadth-first) order
+ * Lookups walk the implicit tree with a branchless probe loop instead of a left/right binary search
+ */
+public class EytzingerIndex {
+    private final int size;
+    private final int[] keys;
+    private final int[] positions;
+    private final ProductCatalog catalog;
+    
+    /**
+     * Constructor for EytzingerIndex (use fromSortedIds or fromCatalog to build one)
+     * @param sortedIds Product IDs in ascending order
+     * @param catalog Catalog the IDs came from, or null for a bare ID index
+     */
+    private EytzingerIndex(int[] sortedIds, ProductCatalog catalog) {
+        this.size = sortedIds.length;
+        // Slot 0 is unused so that the children of node k are 2k and 2k + 1
+        this.keys = new int[size + 1];
+        this.positions = new int[size + 1];
+        this.catalog = catalog;
+        fill(sortedIds, 0, 1);
+    }
+    
+    /**
+     * Build an index over an array of product IDs that is already sorted
+     * Time Complexity: O(n)
+     * 
+     * @param sortedIds Product IDs in ascending order
+     * @return Eytzinger index whose lookups return positions in sortedIds
+     */
+    public static EytzingerIndex fromSortedIds(int[] sortedIds) {
+        return new EytzingerIndex(sortedIds, null);
+    }
+    
+    /**
+     * Build an index over the ID column of a catalog
+     * Time Complexity: O(n)
+     * 
+     * @param catalog Columnar product catalog
+     * @return Eytzinger index whose lookups return catalog rows
+     */
+    public static EytzingerIndex fromCatalog(ProductCatalog catalog) {
+        int[] ids = new int[catalog.size()];
+        for (int row = 0; row < ids.length; row++) {
+            ids[row] = catalog.getProductId(row);
+        }
+        return new EytzingerIndex(ids, catalog);
+    }
+    
+    /**
+     * Copy sorted IDs into BFS order with an in-order walk of the implicit tree
+     * @param sortedIds Product IDs in ascending order
+     * @param next Next sorted position to place
+     * @param k Current tree node (1-based)
+     * @return Next sorted position after this subtree
+     */
+    private int fill(int[] sortedIds, int next, int k) {
+        if (k <= size) {
+            next = fill(sortedIds, next, 2 * k);
+            keys[k] = sortedIds[next];
+            positions[k] = next;
+            next = fill(sortedIds, next + 1, 2 * k + 1);
+        }
+        return next;
+    }
+    
+    /**
+     * Get number of IDs in the index
+     * @return Number of IDs
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Find the tree node holding the smallest ID greater than or equal to the target
+     * Time Complexity: O(log n) with no data-dependent branches inside the loop
+     * 
+     * @param targetId Product ID to search for
+     * @return Tree node index, or 0 if every ID is smaller than the target
+     */
+    private int lowerBoundNode(int targetId) {
+        int k = 1;
+        while (k <= size) {
+            // The comparison feeds arithmetic rather than a jump, so there is nothing to mispredict
+            k = 2 * k + (keys[k] < targetId ? 1 : 0);
+        }
+        // Undo the trailing right turns plus the final left turn to land on the answer
+        return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+    }
+    
+    /**
+     * Find the sorted position (catalog row) of a product ID
+     * Time Complexity: O(log n)
+     * 
+     * @param targetId Product ID to search for
+     * @return Sorted position if found, -1 otherwise
+     */
+    public int indexOf(int targetId) {
+        int k = lowerBoundNode(targetId);
+        return k != 0 && keys[k] == targetId ? positions[k] : -1;
+    }
+    
+    /**
+     * Check whether a product ID is present without reading the position array
+     * @param targetId Product ID to search for
+     * @return True if the ID is in the index
+     */
+    public boolean contains(int targetId) {
+        int k = lowerBoundNode(targetId);
+        return k != 0 && keys[k] == targetId;
+    }
+    
+    /**
+     * Find the sorted position of the smallest ID greater than or equal to the target
+     * @param targetId Lower bound (inclusive)
+     * @return Sorted position, or size() if every ID is smaller
+     */
+    public int lowerBound(int targetId) {
+        int k = lowerBoundNode(targetId);
+        return k != 0 ? positions[k] : size;
+    }
+    
+    /**
+     * Find a product by ID in the catalog this index was built from
+     * @param targetId Product ID to search for
+     * @return Product if found, null otherwise
+     */
+    public Product find(int targetId) {
+        if (catalog == null) {
+            throw new IllegalStateException("Index was built from bare IDs; use indexOf instead");
+        }
+        int row = indexOf(targetId);
+        return row >= 0 ? catalog.getProduct(row) : null;
+    }
+} 
\ No newline at end of file
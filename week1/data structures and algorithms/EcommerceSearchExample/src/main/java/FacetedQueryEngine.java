@@ -0,0 +1,329 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FacetedQueryEngine class answering category + price range queries with bitmaps
+ * Products are numbered by price rank, so a price range is a contiguous block of positions,
+ * a category is a RoaringBitmap of positions, and results come out already sorted by price
+ */
+public class FacetedQueryEngine {
+    private final double[] sortedPrices;
+    private final Product[] productsByPrice;
+    private final String[] categories;
+    private final RoaringBitmap[] categoryBitmaps;
+    
+    /**
+     * Constructor for FacetedQueryEngine
+     * Time Complexity: O(n log n) for the price sort, then O(n) to fill the bitmaps
+     * 
+     * @param source Products in any order
+     */
+    public FacetedQueryEngine(Product[] source) {
+        ProductCatalog catalog = ProductCatalog.fromProducts(source);
+        int[] byPrice = catalog.rowsSortedByPrice();
+        int n = byPrice.length;
+        sortedPrices = new double[n];
+        productsByPrice = new Product[n];
+        categories = new String[catalog.getCategoryCount()];
+        categoryBitmaps = new RoaringBitmap[categories.length];
+        for (int code = 0; code < categories.length; code++) {
+            categories[code] = catalog.getCategoryName(code);
+            categoryBitmaps[code] = new RoaringBitmap();
+        }
+        for (int position = 0; position < n; position++) {
+            int row = byPrice[position];
+            sortedPrices[position] = catalog.getPrice(row);
+            productsByPrice[position] = catalog.getProduct(row);
+            categoryBitmaps[catalog.getCategoryCode(row)].add(position);
+        }
+    }
+    
+    /**
+     * Run a faceted query
+     * Time Complexity: O(log n + c) for counts, plus O(pageSize) select calls for one category
+     * or O((page + 1) * pageSize * c) when merging c selected categories
+     * 
+     * @param selectedCategories Categories to match (any of them); null or empty matches every category
+     * @param minPrice Smallest price to include
+     * @param maxPrice Largest price to include
+     * @param descending True to sort by price high to low
+     * @param page Zero-based page number
+     * @param pageSize Results per page
+     * @return Requested page, total hit count and per-category counts for the price range
+     */
+    public FacetResult query(Collection<String> selectedCategories, double minPrice, double maxPrice,
+                             boolean descending, int page, int pageSize) {
+        if (page < 0 || pageSize <= 0) {
+            throw new IllegalArgumentException("Page must be >= 0 and page size > 0");
+        }
+        // Price range -> [from, to) block of price-ordered positions
+        int from = firstPositionAtLeast(minPrice);
+        int to = Math.max(from, firstPositionAbove(maxPrice));
+        
+        // Facet counts for every category over the same price range
+        Map<String, Integer> facetCounts = new LinkedHashMap<>();
+        for (int code = 0; code < categories.length; code++) {
+            facetCounts.put(categories[code], categoryBitmaps[code].rangeCardinality(from, to));
+        }
+        
+        RoaringBitmap[] selected = selectedBitmaps(selectedCategories);
+        if (selected == null) {
+            return pageOfRange(from, to, descending, page, pageSize, facetCounts);
+        }
+        
+        // Categories are disjoint, so hits in the union are the sum of hits per bitmap
+        int[] lowRanks = new int[selected.length];
+        int[] highRanks = new int[selected.length];
+        int totalHits = 0;
+        for (int i = 0; i < selected.length; i++) {
+            lowRanks[i] = selected[i].rank(from);
+            highRanks[i] = selected[i].rank(to);
+            totalHits += highRanks[i] - lowRanks[i];
+        }
+        int count = pageCount(totalHits, page, pageSize);
+        // Only used when the page is not empty, so it is below totalHits
+        int skip = page * pageSize;
+        Product[] results = new Product[count];
+        if (selected.length == 1) {
+            // One bitmap: jump straight to the page with select
+            for (int i = 0; i < count; i++) {
+                int rank = descending ? highRanks[0] - 1 - skip - i : lowRanks[0] + skip + i;
+                results[i] = productsByPrice[selected[0].select(rank)];
+            }
+        } else if (count > 0) {
+            mergePage(selected, lowRanks, highRanks, from, to, descending, skip, results);
+        }
+        return new FacetResult(results, totalHits, facetCounts);
+    }
+    
+    /**
+     * Merge several disjoint bitmaps in price order, filling results after skipping the earlier pages
+     * The earlier pages are skipped with a binary search over price positions, not by merging them
+     * Time Complexity: O(c log n) rank calls plus O(pageSize * c) select calls for c bitmaps
+     */
+    private void mergePage(RoaringBitmap[] bitmaps, int[] lowRanks, int[] highRanks, int from, int to,
+                           boolean descending, int skip, Product[] results) {
+        int boundary = skipBoundary(bitmaps, lowRanks, highRanks, from, to, descending, skip);
+        int[] cursors = new int[bitmaps.length];
+        int[] heads = new int[bitmaps.length];
+        for (int i = 0; i < bitmaps.length; i++) {
+            cursors[i] = bitmaps[i].rank(boundary);
+            heads[i] = head(bitmaps[i], cursors[i], lowRanks[i], highRanks[i], descending);
+        }
+        for (int step = 0; step < results.length; step++) {
+            int best = 0;
+            for (int i = 1; i < bitmaps.length; i++) {
+                if (descending ? heads[i] > heads[best] : heads[i] < heads[best]) {
+                    best = i;
+                }
+            }
+            results[step] = productsByPrice[heads[best]];
+            cursors[best] += descending ? -1 : 1;
+            heads[best] = head(bitmaps[best], cursors[best], lowRanks[best], highRanks[best], descending);
+        }
+    }
+    
+    /**
+     * Price-ordered position separating the first skip hits of the merge from the rest
+     * (ascending: the hits below it; descending: the hits at or above it)
+     * Categories are disjoint, so the hit count moves by at most one per position and equals skip there
+     */
+    private static int skipBoundary(RoaringBitmap[] bitmaps, int[] lowRanks, int[] highRanks, int from, int to,
+                                    boolean descending, int skip) {
+        int left = from;
+        int right = to;
+        while (left < right) {
+            if (descending) {
+                // Largest position with at least skip hits at or above it
+                int mid = (left + right + 1) >>> 1;
+                if (hitsFrom(bitmaps, highRanks, mid) >= skip) {
+                    left = mid;
+                } else {
+                    right = mid - 1;
+                }
+            } else {
+                // Smallest position with at least skip hits below it
+                int mid = (left + right) >>> 1;
+                if (hitsBelow(bitmaps, lowRanks, mid) < skip) {
+                    left = mid + 1;
+                } else {
+                    right = mid;
+                }
+            }
+        }
+        return left;
+    }
+    
+    /**
+     * Hits in the range below a price-ordered position
+     */
+    private static int hitsBelow(RoaringBitmap[] bitmaps, int[] lowRanks, int position) {
+        int hits = 0;
+        for (int i = 0; i < bitmaps.length; i++) {
+            hits += bitmaps[i].rank(position) - lowRanks[i];
+        }
+        return hits;
+    }
+    
+    /**
+     * Hits in the range at or above a price-ordered position
+     */
+    private static int hitsFrom(RoaringBitmap[] bitmaps, int[] highRanks, int position) {
+        int hits = 0;
+        for (int i = 0; i < bitmaps.length; i++) {
+            hits += highRanks[i] - bitmaps[i].rank(position);
+        }
+        return hits;
+    }
+    
+    /**
+     * Number of results on a page, computed in long so page * pageSize cannot overflow
+     */
+    private static int pageCount(int totalHits, int page, int pageSize) {
+        return (int) Math.max(0, Math.min(pageSize, totalHits - (long) page * pageSize));
+    }
+    
+    /**
+     * Next position a bitmap contributes to the merge, or a sentinel once its range is used up
+     */
+    private static int head(RoaringBitmap bitmap, int cursor, int lowRank, int highRank, boolean descending) {
+        if (descending) {
+            return cursor > lowRank ? bitmap.select(cursor - 1) : Integer.MIN_VALUE;
+        }
+        return cursor < highRank ? bitmap.select(cursor) : Integer.MAX_VALUE;
+    }
+    
+    /**
+     * Get category names known to the engine
+     * @return Category names
+     */
+    public String[] getCategories() {
+        return categories.clone();
+    }
+    
+    /**
+     * Collect the bitmaps of the selected categories
+     * @return Bitmaps, or null when no category filter applies
+     */
+    private RoaringBitmap[] selectedBitmaps(Collection<String> selectedCategories) {
+        if (selectedCategories == null || selectedCategories.isEmpty()) {
+            return null;
+        }
+        List<RoaringBitmap> selected = new ArrayList<>();
+        for (int code = 0; code < categories.length; code++) {
+            if (selectedCategories.contains(categories[code])) {
+                selected.add(categoryBitmaps[code]);
+            }
+        }
+        if (selected.isEmpty()) {
+            // Only unknown categories were requested: match nothing
+            selected.add(new RoaringBitmap());
+        }
+        return selected.toArray(new RoaringBitmap[0]);
+    }
+    
+    /**
+     * Page through a price range with no category filter
+     */
+    private FacetResult pageOfRange(int from, int to, boolean descending, int page, int pageSize,
+                                    Map<String, Integer> facetCounts) {
+        int totalHits = to - from;
+        int count = pageCount(totalHits, page, pageSize);
+        // Only used when the page is not empty, so it is below totalHits
+        int skip = page * pageSize;
+        Product[] results = new Product[count];
+        for (int i = 0; i < count; i++) {
+            results[i] = productsByPrice[descending ? to - 1 - skip - i : from + skip + i];
+        }
+        return new FacetResult(results, totalHits, facetCounts);
+    }
+    
+    /**
+     * First price-ordered position whose price is >= minPrice
+     */
+    private int firstPositionAtLeast(double minPrice) {
+        int left = 0;
+        int right = sortedPrices.length;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            if (sortedPrices[mid] < minPrice) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+        return left;
+    }
+    
+    /**
+     * First price-ordered position whose price is > maxPrice
+     */
+    private int firstPositionAbove(double maxPrice) {
+        int left = 0;
+        int right = sortedPrices.length;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            if (sortedPrices[mid] <= maxPrice) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+        return left;
+    }
+    
+    /**
+     * FacetResult class holding one page of results plus facet counts
+     */
+    public static class FacetResult {
+        private final Product[] products;
+        private final int totalHits;
+        private final Map<String, Integer> facetCounts;
+        
+        /**
+         * Constructor for FacetResult
+         * @param products Products on the requested page, in requested price order
+         * @param totalHits Number of products matching the whole query
+         * @param facetCounts Matches per category within the price range
+         */
+        public FacetResult(Product[] products, int totalHits, Map<String, Integer> facetCounts) {
+            this.products = products;
+            this.totalHits = totalHits;
+            this.facetCounts = facetCounts;
+        }
+        
+        /**
+         * Get products on this page
+         * @return Products sorted by price
+         */
+        public Product[] getProducts() {
+            return products;
+        }
+        
+        /**
+         * Get total number of matching products across all pages
+         * @return Hit count
+         */
+        public int getTotalHits() {
+            return totalHits;
+        }
+        
+        /**
+         * Get number of products per category within the price range
+         * @return Category to count
+         */
+        public Map<String, Integer> getFacetCounts() {
+            return facetCounts;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("FacetResult{totalHits=%d, page=%s, facets=%s}",
+                                 totalHits, Arrays.toString(products), facetCounts);
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,396 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FuzzyNameIndex class for typo-tolerant product name search ("Smartphnoe" finds "Smartphone")
+ * Every distinct name word is indexed by its letter trigrams; a query word is compared only with words
+ * that share enough trigrams to be within the allowed edit distance, and those candidates are verified
+ * with a bounded Damerau-Levenshtein distance. Products must match every query word and are ranked by
+ * total edit distance, then by product ID
+ */
+public class FuzzyNameIndex {
+    /** Default time allowed for fuzzy matching before the remaining query words are matched exactly */
+    public static final long DEFAULT_BUDGET_NANOS = 5_000_000;
+    // One edit (including a transposition) changes at most this many trigrams of a word
+    private static final int TRIGRAMS_PER_EDIT = 4;
+    private static final char PADDING = ' ';
+    
+    private final Product[] products;
+    private final String[] terms;
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final int[][] termRows;
+    private final Map<Long, int[]> trigramTerms = new HashMap<>();
+    
+    /**
+     * Constructor for FuzzyNameIndex
+     * Time Complexity: O(n log n + T) where T is the total number of name words
+     * 
+     * @param source Products in any order
+     */
+    public FuzzyNameIndex(Product[] source) {
+        products = source.clone();
+        Arrays.sort(products);
+        
+        // Rows are positions in ID order, so each word's row list is built sorted
+        List<String> termList = new ArrayList<>();
+        List<IntList> rowLists = new ArrayList<>();
+        for (int row = 0; row < products.length; row++) {
+            for (String term : InvertedIndex.tokenize(products[row].getProductName()).keySet()) {
+                Integer termId = termIds.get(term);
+                if (termId == null) {
+                    termId = termList.size();
+                    termIds.put(term, termId);
+                    termList.add(term);
+                    rowLists.add(new IntList());
+                }
+                rowLists.get(termId).add(row);
+            }
+        }
+        terms = termList.toArray(new String[0]);
+        termRows = new int[terms.length][];
+        for (int termId = 0; termId < terms.length; termId++) {
+            termRows[termId] = rowLists.get(termId).toArray();
+        }
+        
+        Map<Long, IntList> trigramLists = new HashMap<>();
+        for (int termId = 0; termId < terms.length; termId++) {
+            for (long trigram : trigrams(terms[termId])) {
+                trigramLists.computeIfAbsent(trigram, key -> new IntList()).add(termId);
+            }
+        }
+        for (Map.Entry<Long, IntList> entry : trigramLists.entrySet()) {
+            trigramTerms.put(entry.getKey(), entry.getValue().toArray());
+        }
+    }
+    
+    /**
+     * Find products whose names match every query word within a few typos, using the default budget
+     * @param query Product name or part of it, possibly misspelled
+     * @param limit Maximum number of results
+     * @return Matching products, closest first
+     */
+    public Product[] search(String query, int limit) {
+        return search(query, limit, DEFAULT_BUDGET_NANOS);
+    }
+    
+    /**
+     * Find products whose names match every query word within a few typos
+     * Words of up to 2 letters and numbers must match exactly, words of 3-5 letters allow 1 edit and
+     * longer words allow 2. Once the budget is spent, the remaining query words are matched exactly,
+     * so a slow query returns fewer (but still correct) matches instead of missing its deadline
+     * Time Complexity: O(sum of trigram list lengths + verified words * k * word length + matching rows)
+     * 
+     * @param query Product name or part of it, possibly misspelled
+     * @param limit Maximum number of results
+     * @param budgetNanos Time allowed for fuzzy word matching
+     * @return Matching products, lowest total edit distance first (ties in ID order)
+     */
+    public Product[] search(String query, int limit, long budgetNanos) {
+        if (limit <= 0) {
+            return new Product[0];
+        }
+        long deadline = System.nanoTime() + budgetNanos;
+        int[] rows = null;
+        int[] distances = null;
+        int maxTotal = 0;
+        
+        for (String word : InvertedIndex.tokenize(query).keySet()) {
+            int maxEdits = System.nanoTime() - deadline < 0 ? maxEdits(word) : 0;
+            long[] matches = matchingRows(word, maxEdits, deadline);
+            maxTotal += maxEdits;
+            if (rows == null) {
+                rows = new int[matches.length];
+                distances = new int[matches.length];
+                for (int i = 0; i < matches.length; i++) {
+                    rows[i] = (int) (matches[i] >>> 8);
+                    distances[i] = (int) matches[i] & 0xFF;
+                }
+            } else {
+                // Keep rows that also match this word, adding up the edit distances
+                int kept = 0;
+                int j = 0;
+                for (int i = 0; i < rows.length && j < matches.length; i++) {
+                    while (j < matches.length && (int) (matches[j] >>> 8) < rows[i]) {
+                        j++;
+                    }
+                    if (j < matches.length && (int) (matches[j] >>> 8) == rows[i]) {
+                        rows[kept] = rows[i];
+                        distances[kept++] = distances[i] + ((int) matches[j] & 0xFF);
+                    }
+                }
+                rows = Arrays.copyOf(rows, kept);
+                distances = Arrays.copyOf(distances, kept);
+            }
+            if (rows.length == 0) {
+                return new Product[0];
+            }
+        }
+        if (rows == null) {
+            return new Product[0];
+        }
+        
+        // Distances are small, so rank with one pass over the rows per distance value
+        Product[] results = new Product[Math.min(limit, rows.length)];
+        int count = 0;
+        for (int distance = 0; distance <= maxTotal && count < results.length; distance++) {
+            for (int i = 0; i < rows.length && count < results.length; i++) {
+                if (distances[i] == distance) {
+                    results[count++] = products[rows[i]];
+                }
+            }
+        }
+        return results;
+    }
+    
+    /**
+     * Get number of indexed products
+     * @return Product count
+     */
+    public int size() {
+        return products.length;
+    }
+    
+    /**
+     * Get number of distinct name words
+     * @return Word count
+     */
+    public int getTermCount() {
+        return terms.length;
+    }
+    
+    /**
+     * Optimal string alignment (Damerau-Levenshtein) distance, giving up once it exceeds a bound
+     * Only a diagonal band of width 2 * max + 1 is computed, and a row whose minimum exceeds max ends it
+     * Time Complexity: O(max * min(a, b))
+     * 
+     * @param a First string
+     * @param b Second string
+     * @param max Largest distance of interest
+     * @return Distance, or max + 1 if it is larger than max
+     */
+    public static int editDistance(String a, String b, int max) {
+        int lengthA = a.length();
+        int lengthB = b.length();
+        int over = max + 1;
+        if (Math.abs(lengthA - lengthB) > max) {
+            return over;
+        }
+        int[] twoBack = new int[lengthB + 1];
+        int[] previous = new int[lengthB + 1];
+        int[] current = new int[lengthB + 1];
+        for (int j = 0; j <= lengthB; j++) {
+            previous[j] = Math.min(j, over);
+        }
+        for (int i = 1; i <= lengthA; i++) {
+            int from = Math.max(1, i - max);
+            int to = Math.min(lengthB, i + max);
+            current[0] = Math.min(i, over);
+            current[from - 1] = from == 1 ? current[0] : over;
+            int rowMin = current[from - 1];
+            char charA = a.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                char charB = b.charAt(j - 1);
+                int distance = Math.min(Math.min(previous[j], current[j - 1]) + 1,
+                                        previous[j - 1] + (charA == charB ? 0 : 1));
+                if (i > 1 && j > 1 && charA == b.charAt(j - 2) && a.charAt(i - 2) == charB) {
+                    distance = Math.min(distance, twoBack[j - 2] + 1);
+                }
+                current[j] = Math.min(distance, over);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < lengthB) {
+                current[to + 1] = over;
+            }
+            if (rowMin > max) {
+                return over;
+            }
+            int[] recycled = twoBack;
+            twoBack = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[lengthB];
+    }
+    
+    /**
+     * Demonstrate fuzzy search on a generated catalog
+     * Usage: java FuzzyNameIndex [count] [query...]
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0].replace("_", "")) : 1_000_000;
+        String[] queries = args.length > 1
+            ? Arrays.copyOfRange(args, 1, args.length)
+            : new String[] {"Smartphnoe", "wireles hedphones", "Premum Labtop", "Vintgae Bicylce", "xyzzy"};
+        
+        long start = System.nanoTime();
+        FuzzyNameIndex index = new FuzzyNameIndex(SearchAlgorithms.generateSampleProducts(count, 42));
+        System.out.printf("Indexed %,d products (%,d distinct name words) in %.0f ms%n",
+                          index.size(), index.getTermCount(), (System.nanoTime() - start) / 1e6);
+        
+        for (int warmup = 0; warmup < 20; warmup++) {
+            for (String query : queries) {
+                index.search(query, 5);
+            }
+        }
+        for (String query : queries) {
+            start = System.nanoTime();
+            Product[] results = index.search(query, 5);
+            double micros = (System.nanoTime() - start) / 1e3;
+            System.out.printf("%n\"%s\" -> %d results in %.0f µs%n", query, results.length, micros);
+            for (Product product : results) {
+                System.out.println("  " + product.getProductName() + " (ID " + product.getProductId() + ")");
+            }
+        }
+    }
+    
+    /**
+     * Edits allowed for a query word: none for short words and numbers, then 1, then 2
+     */
+    private static int maxEdits(String word) {
+        if (word.length() <= 2 || word.chars().allMatch(Character::isDigit)) {
+            return 0;
+        }
+        return word.length() <= 5 ? 1 : 2;
+    }
+    
+    /**
+     * Find the rows whose names contain a word within maxEdits of the given word
+     * @return Sorted (row << 8 | distance) keys, one per row with its smallest distance
+     */
+    private long[] matchingRows(String word, int maxEdits, long deadline) {
+        int[] candidates = candidateTerms(word, maxEdits);
+        IntList matchedTerms = new IntList();
+        IntList matchedDistances = new IntList();
+        for (int c = 0; c < candidates.length; c++) {
+            // Candidates come best-first, so stopping at the deadline keeps the closest words
+            if (c > 0 && (c & 15) == 0 && System.nanoTime() - deadline > 0) {
+                break;
+            }
+            int distance = editDistance(word, terms[candidates[c]], maxEdits);
+            if (distance <= maxEdits) {
+                matchedTerms.add(candidates[c]);
+                matchedDistances.add(distance);
+            }
+        }
+        int rowCount = 0;
+        for (int m = 0; m < matchedTerms.size(); m++) {
+            rowCount += termRows[matchedTerms.get(m)].length;
+        }
+        long[] sorted = new long[rowCount];
+        int next = 0;
+        for (int m = 0; m < matchedTerms.size(); m++) {
+            for (int row : termRows[matchedTerms.get(m)]) {
+                sorted[next++] = (long) row << 8 | matchedDistances.get(m);
+            }
+        }
+        if (matchedTerms.size() == 1) {
+            // A single word's rows are already in order
+            return sorted;
+        }
+        Arrays.sort(sorted);
+        // The smallest distance of each row sorts first; drop the others
+        int kept = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (kept == 0 || sorted[i] >>> 8 != sorted[kept - 1] >>> 8) {
+                sorted[kept++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, kept);
+    }
+    
+    /**
+     * Words that may be within maxEdits of the given word, most shared trigrams first
+     * A word within k edits shares all but at most 4k of the query's trigrams; when that bound
+     * prunes nothing (short words), every word of a suitable length is a candidate
+     */
+    private int[] candidateTerms(String word, int maxEdits) {
+        if (maxEdits == 0) {
+            Integer termId = termIds.get(word);
+            return termId == null ? new int[0] : new int[] {termId};
+        }
+        long[] queryTrigrams = trigrams(word);
+        int minShared = queryTrigrams.length - TRIGRAMS_PER_EDIT * maxEdits;
+        int[] shared = new int[terms.length];
+        IntList candidates = new IntList();
+        if (minShared <= 0) {
+            for (int termId = 0; termId < terms.length; termId++) {
+                if (Math.abs(terms[termId].length() - word.length()) <= maxEdits) {
+                    candidates.add(termId);
+                }
+            }
+            return candidates.toArray();
+        }
+        for (long trigram : queryTrigrams) {
+            int[] termList = trigramTerms.get(trigram);
+            if (termList == null) {
+                continue;
+            }
+            for (int termId : termList) {
+                if (++shared[termId] == minShared && Math.abs(terms[termId].length() - word.length()) <= maxEdits) {
+                    candidates.add(termId);
+                }
+            }
+        }
+        // Sort by shared trigram count, descending, then by term ID
+        long[] keys = new long[candidates.size()];
+        for (int i = 0; i < keys.length; i++) {
+            int termId = candidates.get(i);
+            keys[i] = (long) (Integer.MAX_VALUE - shared[termId]) << 32 | termId;
+        }
+        Arrays.sort(keys);
+        int[] ordered = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            ordered[i] = (int) keys[i];
+        }
+        return ordered;
+    }
+    
+    /**
+     * Distinct trigrams of a word padded with two spaces on each side, three chars packed per long
+     */
+    private static long[] trigrams(String word) {
+        String padded = "" + PADDING + PADDING + word + PADDING + PADDING;
+        long[] trigrams = new long[padded.length() - 2];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = (long) padded.charAt(i) << 32 | (long) padded.charAt(i + 1) << 16 | padded.charAt(i + 2);
+        }
+        Arrays.sort(trigrams);
+        int distinct = 0;
+        for (int i = 0; i < trigrams.length; i++) {
+            if (distinct == 0 || trigrams[i] != trigrams[distinct - 1]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+    
+    /**
+     * Growable int array
+     */
+    private static class IntList {
+        private int[] values = new int[4];
+        private int size;
+        
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+        
+        int get(int index) {
+            return values[index];
+        }
+        
+        int size() {
+            return size;
+        }
+        
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,544 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * InvertedIndex class for keyword search over product names and descriptions
+ * Maps each term to a compressed postings list of product IDs and ranks matches with BM25
+ * The index registers itself as a change listener on every product it holds, so setDescription
+ * re-indexes the product; public methods are synchronized, since that happens on whichever thread
+ * calls Product.setDescription
+ */
+public class InvertedIndex implements ProductChangeListener {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int NAME_BOOST = 2;
+    
+    private final Map<String, PostingsList> postings = new HashMap<>();
+    private final ProductIdIndex products = new ProductIdIndex();
+    private long totalLength;
+    
+    /**
+     * Build an index over an array of products
+     * Products are added in ID order, so every postings list is built by appending
+     * Time Complexity: O(n log n + T) where T is the total number of tokens
+     * 
+     * @param source Products in any order
+     * @return Index over every product's name and description
+     */
+    public static InvertedIndex fromProducts(Product[] source) {
+        Product[] byId = source.clone();
+        Arrays.sort(byId);
+        InvertedIndex index = new InvertedIndex();
+        for (Product product : byId) {
+            index.add(product);
+        }
+        for (PostingsList list : index.postings.values()) {
+            list.trim();
+        }
+        return index;
+    }
+    
+    /**
+     * Add a product to the index, replacing any product already indexed under the same ID
+     * @param product Product to index
+     */
+    public synchronized void add(Product product) {
+        Product existing = products.get(product.getProductId());
+        if (existing != null) {
+            remove(existing);
+        }
+        products.put(product);
+        index(product.getProductId(), product.getProductName(), product.getDescription());
+        product.addChangeListener(this);
+    }
+    
+    /**
+     * Remove a product from the index
+     * @param product Product to remove (the product indexed under its ID is unindexed, whatever the
+     *                argument's own name and description are)
+     * @return True if the product was indexed
+     */
+    public synchronized boolean remove(Product product) {
+        Product indexed = products.remove(product.getProductId());
+        if (indexed == null) {
+            return false;
+        }
+        unindex(indexed.getProductId(), indexed.getProductName(), indexed.getDescription());
+        indexed.removeChangeListener(this);
+        return true;
+    }
+    
+    /**
+     * Re-index a product after Product.setDescription (the index listens to every product it holds)
+     * @param product Product that changed
+     * @param oldDescription Description that is currently indexed
+     */
+    @Override
+    public synchronized void descriptionChanged(Product product, String oldDescription) {
+        if (products.get(product.getProductId()) != product) {
+            return;
+        }
+        unindex(product.getProductId(), product.getProductName(), oldDescription);
+        index(product.getProductId(), product.getProductName(), product.getDescription());
+    }
+    
+    /**
+     * Find products containing every query term, best BM25 score first
+     * @param query Free-text query
+     * @param limit Maximum number of results
+     * @return Matching products ranked by relevance
+     */
+    public synchronized Product[] searchAll(String query, int limit) {
+        return search(query, limit, true);
+    }
+    
+    /**
+     * Find products containing any query term, best BM25 score first
+     * @param query Free-text query
+     * @param limit Maximum number of results
+     * @return Matching products ranked by relevance
+     */
+    public synchronized Product[] searchAny(String query, int limit) {
+        return search(query, limit, false);
+    }
+    
+    /**
+     * Get number of indexed products
+     * @return Document count
+     */
+    public synchronized int getDocumentCount() {
+        return products.size();
+    }
+    
+    /**
+     * Get number of distinct terms
+     * @return Term count
+     */
+    public synchronized int getTermCount() {
+        return postings.size();
+    }
+    
+    /**
+     * Get size of all compressed postings lists
+     * @return Bytes used by postings data
+     */
+    public synchronized long getPostingsBytes() {
+        long bytes = 0;
+        for (PostingsList list : postings.values()) {
+            bytes += list.length;
+        }
+        return bytes;
+    }
+    
+    /**
+     * Split text into lower-case alphanumeric terms
+     * @param text Text to tokenize (null is treated as empty)
+     * @return Frequency of each distinct term
+     */
+    static Map<String, Integer> tokenize(String text) {
+        Map<String, Integer> terms = new HashMap<>();
+        addTokens(text, 1, terms);
+        return terms;
+    }
+    
+    /**
+     * Add the terms of a text to a frequency map
+     */
+    private static void addTokens(String text, int weight, Map<String, Integer> terms) {
+        if (text == null) {
+            return;
+        }
+        int length = text.length();
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean wordChar = i < length && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                terms.merge(text.substring(start, i).toLowerCase(), weight, Integer::sum);
+                start = -1;
+            }
+        }
+    }
+    
+    /**
+     * Term frequencies for a product, with name terms weighted above description terms
+     */
+    private static Map<String, Integer> documentTerms(String name, String description) {
+        Map<String, Integer> terms = new HashMap<>();
+        addTokens(name, NAME_BOOST, terms);
+        addTokens(description, 1, terms);
+        return terms;
+    }
+    
+    /**
+     * Add one document's terms to the postings lists
+     */
+    private void index(int productId, String name, String description) {
+        Map<String, Integer> terms = documentTerms(name, description);
+        int docLength = documentLength(terms);
+        for (Map.Entry<String, Integer> term : terms.entrySet()) {
+            postings.computeIfAbsent(term.getKey(), key -> new PostingsList())
+                    .insert(productId, term.getValue(), docLength);
+        }
+        totalLength += docLength;
+    }
+    
+    /**
+     * Remove one document's terms from the postings lists
+     */
+    private void unindex(int productId, String name, String description) {
+        Map<String, Integer> terms = documentTerms(name, description);
+        for (String term : terms.keySet()) {
+            PostingsList list = postings.get(term);
+            if (list != null && list.remove(productId) && list.count == 0) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= documentLength(terms);
+    }
+    
+    /**
+     * Total weighted term count of a document
+     */
+    private static int documentLength(Map<String, Integer> terms) {
+        int length = 0;
+        for (int frequency : terms.values()) {
+            length += frequency;
+        }
+        return length;
+    }
+    
+    /**
+     * Merge the postings of every query term in ID order, scoring each candidate with BM25
+     */
+    private Product[] search(String query, int limit, boolean requireAll) {
+        Set<String> terms = tokenize(query).keySet();
+        PostingsCursor[] cursors = new PostingsCursor[terms.size()];
+        int cursorCount = 0;
+        for (String term : terms) {
+            PostingsList list = postings.get(term);
+            if (list == null) {
+                if (requireAll) {
+                    return new Product[0];
+                }
+                continue;
+            }
+            cursors[cursorCount++] = new PostingsCursor(list, idf(list.count));
+        }
+        if (cursorCount == 0 || limit <= 0) {
+            return new Product[0];
+        }
+        cursors = Arrays.copyOf(cursors, cursorCount);
+        
+        double averageLength = (double) totalLength / products.size();
+        TopScores top = new TopScores(limit);
+        int live = 0;
+        for (PostingsCursor cursor : cursors) {
+            if (cursor.next()) {
+                live++;
+            }
+        }
+        
+        if (requireAll) {
+            // Leapfrog: advance every cursor to the largest current ID until they all agree
+            while (live == cursorCount) {
+                int target = Integer.MIN_VALUE;
+                for (PostingsCursor cursor : cursors) {
+                    target = Math.max(target, cursor.productId);
+                }
+                boolean aligned = true;
+                for (PostingsCursor cursor : cursors) {
+                    if (!cursor.advanceTo(target)) {
+                        live--;
+                        break;
+                    }
+                    aligned &= cursor.productId == target;
+                }
+                if (live == cursorCount && aligned) {
+                    double score = 0;
+                    for (PostingsCursor cursor : cursors) {
+                        score += cursor.score(averageLength);
+                        if (!cursor.next()) {
+                            live--;
+                        }
+                    }
+                    top.offer(target, score);
+                }
+            }
+        } else {
+            // Union: score the smallest current ID across all cursors, then advance those cursors
+            while (live > 0) {
+                int target = Integer.MAX_VALUE;
+                for (PostingsCursor cursor : cursors) {
+                    if (!cursor.exhausted) {
+                        target = Math.min(target, cursor.productId);
+                    }
+                }
+                double score = 0;
+                for (PostingsCursor cursor : cursors) {
+                    if (!cursor.exhausted && cursor.productId == target) {
+                        score += cursor.score(averageLength);
+                        if (!cursor.next()) {
+                            live--;
+                        }
+                    }
+                }
+                top.offer(target, score);
+            }
+        }
+        
+        int[] ranked = top.productIdsByScore();
+        Product[] results = new Product[ranked.length];
+        for (int i = 0; i < ranked.length; i++) {
+            results[i] = products.get(ranked[i]);
+        }
+        return results;
+    }
+    
+    /**
+     * BM25 inverse document frequency of a term
+     */
+    private double idf(int documentFrequency) {
+        int n = products.size();
+        return Math.log(1 + (n - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+    
+    /**
+     * Postings for one term: (product ID delta, term frequency, document length) varints in ID order
+     */
+    private static class PostingsList {
+        private static final long NO_PREVIOUS = Integer.MIN_VALUE - 1L;
+        
+        byte[] data = new byte[8];
+        int length;
+        int count;
+        long lastId = NO_PREVIOUS;
+        
+        /**
+         * Add or replace an entry; appending past the last ID avoids re-encoding the list
+         */
+        void insert(int productId, int frequency, int docLength) {
+            if (productId > lastId) {
+                append(productId, frequency, docLength);
+                return;
+            }
+            remove(productId);
+            rewrite(productId, frequency, docLength);
+        }
+        
+        /**
+         * Remove an entry by re-encoding the list without it
+         * @return True if the entry was present
+         */
+        boolean remove(int productId) {
+            if (productId > lastId) {
+                return false;
+            }
+            int before = count;
+            rewrite(productId, -1, 0);
+            return count < before;
+        }
+        
+        /**
+         * Re-encode the list, dropping any entry for productId and adding it back if frequency >= 0
+         */
+        private void rewrite(int productId, int frequency, int docLength) {
+            PostingsCursor cursor = new PostingsCursor(this, 0);
+            byte[] old = data;
+            data = new byte[Math.max(8, length + 16)];
+            length = 0;
+            count = 0;
+            lastId = NO_PREVIOUS;
+            boolean pending = frequency >= 0;
+            while (cursor.next(old)) {
+                if (pending && productId < cursor.productId) {
+                    append(productId, frequency, docLength);
+                    pending = false;
+                }
+                if (cursor.productId != productId) {
+                    append(cursor.productId, cursor.frequency, cursor.docLength);
+                }
+            }
+            if (pending) {
+                append(productId, frequency, docLength);
+            }
+        }
+        
+        void append(int productId, int frequency, int docLength) {
+            if (length + 15 > data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            writeVarLong(productId - lastId);
+            writeVarLong(frequency);
+            writeVarLong(docLength);
+            lastId = productId;
+            count++;
+        }
+        
+        void trim() {
+            data = Arrays.copyOf(data, length);
+        }
+        
+        private void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                data[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[length++] = (byte) value;
+        }
+    }
+    
+    /**
+     * Sequential decoder over one postings list
+     */
+    private static class PostingsCursor {
+        private final PostingsList list;
+        private final double idf;
+        private final int end;
+        private int position;
+        private long previousId = PostingsList.NO_PREVIOUS;
+        int productId;
+        int frequency;
+        int docLength;
+        boolean exhausted;
+        
+        PostingsCursor(PostingsList list, double idf) {
+            this.list = list;
+            this.idf = idf;
+            this.end = list.length;
+        }
+        
+        boolean next() {
+            return next(list.data);
+        }
+        
+        /**
+         * Decode the next entry from the given buffer (the list may be re-encoded mid-read)
+         */
+        boolean next(byte[] data) {
+            if (position >= end) {
+                exhausted = true;
+                return false;
+            }
+            previousId += readVarLong(data);
+            productId = (int) previousId;
+            frequency = (int) readVarLong(data);
+            docLength = (int) readVarLong(data);
+            return true;
+        }
+        
+        /**
+         * Skip forward to the first entry with ID >= target
+         */
+        boolean advanceTo(int target) {
+            while (productId < target) {
+                if (!next()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        double score(double averageLength) {
+            double norm = K1 * (1 - B + B * docLength / averageLength);
+            return idf * frequency * (K1 + 1) / (frequency + norm);
+        }
+        
+        private long readVarLong(byte[] data) {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+    
+    /**
+     * Bounded min-heap of (score, product ID) keeping the best results seen so far
+     */
+    private static class TopScores {
+        private final int[] ids;
+        private final double[] scores;
+        private int size;
+        
+        TopScores(int limit) {
+            ids = new int[limit];
+            scores = new double[limit];
+        }
+        
+        void offer(int productId, double score) {
+            if (size < ids.length) {
+                ids[size] = productId;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (better(score, productId, scores[0], ids[0])) {
+                ids[0] = productId;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+        
+        int[] productIdsByScore() {
+            int[] result = new int[size];
+            // Pop the weakest entry into the back of the result until the heap is empty
+            for (int i = size - 1; i >= 0; i--) {
+                result[i] = ids[0];
+                size--;
+                ids[0] = ids[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+            return result;
+        }
+        
+        private static boolean better(double scoreA, int idA, double scoreB, int idB) {
+            return scoreA > scoreB || (scoreA == scoreB && idA < idB);
+        }
+        
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!better(scores[parent], ids[parent], scores[i], ids[i])) {
+                    break;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+        
+        private void siftDown(int i) {
+            while (true) {
+                int weakest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && better(scores[weakest], ids[weakest], scores[left], ids[left])) {
+                    weakest = left;
+                }
+                if (right < size && better(scores[weakest], ids[weakest], scores[right], ids[right])) {
+                    weakest = right;
+                }
+                if (weakest == i) {
+                    return;
+                }
+                swap(i, weakest);
+                i = weakest;
+            }
+        }
+        
+        private void swap(int i, int j) {
+            int id = ids[i];
+            ids[i] = ids[j];
+            ids[j] = id;
+            double score = scores[i];
+            scores[i] = scores[j];
+            scores[j] = score;
+        }
+    }
+} 
\ No newline at end of file
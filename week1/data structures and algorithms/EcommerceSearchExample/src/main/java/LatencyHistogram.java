@@ -0,0 +1,117 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyHistogram class recording nanosecond latencies into log-linear buckets (HDR histogram style)
+ * Values below 64 ns are exact; above that every power of two is split into 32 buckets (about 3% error)
+ * Recording is lock-free, so many search threads can share one histogram
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (62 - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+    
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    
+    /**
+     * Record one latency
+     * Time Complexity: O(1)
+     * 
+     * @param nanos Elapsed time in nanoseconds (negative values count as 0)
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        totalCount.increment();
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+    }
+    
+    /**
+     * Get number of recorded values
+     * @return Count
+     */
+    public long getCount() {
+        return totalCount.sum();
+    }
+    
+    /**
+     * Get mean latency
+     * @return Mean in nanoseconds, 0 if nothing was recorded
+     */
+    public double getMean() {
+        long count = totalCount.sum();
+        return count == 0 ? 0 : (double) totalNanos.sum() / count;
+    }
+    
+    /**
+     * Get largest recorded latency
+     * @return Maximum in nanoseconds
+     */
+    public long getMax() {
+        return maxNanos.get();
+    }
+    
+    /**
+     * Get the latency below which a given percentage of values fall
+     * Time Complexity: O(buckets)
+     * 
+     * @param percentile Percentile between 0 and 100, e.g. 99.9
+     * @return Upper edge of the bucket holding that percentile, in nanoseconds
+     */
+    public long valueAtPercentile(double percentile) {
+        long count = totalCount.sum();
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= target) {
+                return Math.min(highestValueIn(bucket), getMax());
+            }
+        }
+        return getMax();
+    }
+    
+    /**
+     * Clear all recorded values (not atomic with respect to concurrent recording)
+     */
+    public void reset() {
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            counts.set(bucket, 0);
+        }
+        totalCount.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+    
+    /**
+     * Map a value to its bucket: exact below 64, otherwise (power of two, top 5 mantissa bits)
+     */
+    private static int bucketOf(long value) {
+        if (value < 2 * SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int mantissa = (int) (value >>> (exponent - SUB_BUCKET_BITS));
+        return (exponent - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT + mantissa;
+    }
+    
+    /**
+     * Largest value that maps to a bucket
+     */
+    private static long highestValueIn(int bucket) {
+        if (bucket < 2 * SUB_BUCKET_COUNT) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        long mantissa = SUB_BUCKET_COUNT + bucket % SUB_BUCKET_COUNT;
+        return ((mantissa + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,608 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * MappedCatalog class searching a binary product catalog file in place through FileChannel.map
+ * Opening only maps the file, so even a 50M-product catalog starts in milliseconds and its data
+ * lives in the OS page cache instead of the Java heap
+ * 
+ * File layout (little-endian):
+ *   header (64 bytes) | strings: [int length][UTF-8 bytes]... | records sorted by ID (32 bytes each:
+ *   int id, int category code, double price, long name offset, long description offset or -1 for null) |
+ *   name index (int row per entry, sorted by case-insensitive name) | category table
+ * Regions are mapped in 1 GB chunks; strings are padded so none crosses a chunk boundary
+ */
+public class MappedCatalog {
+    private static final int MAGIC = 0x50434154; // "PCAT"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int RECORD_SIZE = 32;
+    private static final int DEFAULT_CHUNK_SHIFT = 30;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+    // Description offset stored for a product whose description is null
+    private static final long NULL_STRING = -1;
+    
+    private final int size;
+    private final int chunkShift;
+    private final long chunkMask;
+    private final ByteBuffer[] strings;
+    private final ByteBuffer[] records;
+    private final ByteBuffer[] nameIndex;
+    private final String[] categories;
+    
+    /**
+     * Constructor for MappedCatalog (use open to read a file)
+     */
+    private MappedCatalog(int size, int chunkShift, ByteBuffer[] strings, ByteBuffer[] records,
+                          ByteBuffer[] nameIndex, String[] categories) {
+        this.size = size;
+        this.chunkShift = chunkShift;
+        this.chunkMask = (1L << chunkShift) - 1;
+        this.strings = strings;
+        this.records = records;
+        this.nameIndex = nameIndex;
+        this.categories = categories;
+    }
+    
+    /**
+     * Open a catalog file written by write
+     * Time Complexity: O(categories) - nothing else is read until it is searched
+     * 
+     * @param file Catalog file
+     * @return Catalog backed by the mapped file
+     * @throws IOException If the file cannot be read or is not a catalog file
+     */
+    public static MappedCatalog open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, header, 0);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException("Not a version " + VERSION + " catalog file: " + file);
+            }
+            int size = header.getInt(8);
+            int categoryCount = header.getInt(12);
+            long stringsOffset = header.getLong(16);
+            long stringsLength = header.getLong(24);
+            long recordsOffset = header.getLong(32);
+            long nameIndexOffset = header.getLong(40);
+            long categoriesOffset = header.getLong(48);
+            int chunkShift = header.getInt(56);
+            
+            // The category table is tiny, so it is decoded onto the heap once
+            String[] categories = new String[categoryCount];
+            ByteBuffer table = map(channel, categoriesOffset, channel.size() - categoriesOffset, chunkShift)[0];
+            int position = 0;
+            for (int code = 0; code < categoryCount; code++) {
+                byte[] bytes = new byte[table.getInt(position)];
+                table.position(position + 4);
+                table.get(bytes);
+                categories[code] = new String(bytes, StandardCharsets.UTF_8);
+                position += 4 + bytes.length;
+            }
+            return new MappedCatalog(size, chunkShift,
+                                     map(channel, stringsOffset, stringsLength, chunkShift),
+                                     map(channel, recordsOffset, (long) size * RECORD_SIZE, chunkShift),
+                                     map(channel, nameIndexOffset, 4L * size, chunkShift),
+                                     categories);
+        }
+    }
+    
+    /**
+     * Write a catalog file from products in any order
+     * @param file Output file (overwritten)
+     * @param products Products with unique IDs
+     * @throws IOException If the file cannot be written
+     */
+    public static void write(Path file, Product[] products) throws IOException {
+        Product[] byId = products.clone();
+        Arrays.sort(byId);
+        write(file, Arrays.asList(byId).iterator());
+    }
+    
+    /**
+     * Write a catalog file from products streamed in increasing ID order
+     * Only the category dictionary and one int per product (for the name sort) are held on the heap,
+     * so catalogs far larger than the heap can be built, e.g. from CatalogGenerator.stream
+     * 
+     * @param file Output file (overwritten)
+     * @param productsById Products in strictly increasing ID order
+     * @throws IOException If the file cannot be written
+     */
+    public static void write(Path file, Iterator<Product> productsById) throws IOException {
+        write(file, productsById, DEFAULT_CHUNK_SHIFT);
+    }
+    
+    /**
+     * Write a catalog file laid out for mapping chunks of 2^chunkShift bytes
+     */
+    static void write(Path file, Iterator<Product> productsById, int chunkShift) throws IOException {
+        long chunkSize = 1L << chunkShift;
+        Path recordFile = Files.createTempFile(file.toAbsolutePath().getParent(), "catalog", ".records");
+        Map<String, Integer> categoryCodes = new HashMap<>();
+        int size = 0;
+        long stringsLength;
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                StandardOpenOption.READ, StandardOpenOption.TRUNCATE_EXISTING);
+             FileChannel recordOut = FileChannel.open(recordFile, StandardOpenOption.WRITE, StandardOpenOption.READ)) {
+            // Pass 1: strings go straight into the catalog file, fixed-width records into a side file
+            ByteBuffer stringBuffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            ByteBuffer recordBuffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            out.position(HEADER_SIZE);
+            long stringPosition = 0;
+            long previousId = Long.MIN_VALUE;
+            while (productsById.hasNext()) {
+                Product product = productsById.next();
+                if (product.getProductId() <= previousId) {
+                    throw new IllegalArgumentException("Products must be in increasing ID order: " + product.getProductId());
+                }
+                previousId = product.getProductId();
+                byte[] name = product.getProductName().getBytes(StandardCharsets.UTF_8);
+                
+                long nameOffset = alignForString(stringPosition, name.length, chunkSize, out, stringBuffer);
+                stringPosition = putString(out, stringBuffer, name, nameOffset);
+                long descriptionOffset = NULL_STRING;
+                if (product.getDescription() != null) {
+                    byte[] description = product.getDescription().getBytes(StandardCharsets.UTF_8);
+                    descriptionOffset = alignForString(stringPosition, description.length, chunkSize, out, stringBuffer);
+                    stringPosition = putString(out, stringBuffer, description, descriptionOffset);
+                }
+                
+                Integer code = categoryCodes.computeIfAbsent(product.getCategory(), c -> categoryCodes.size());
+                if (recordBuffer.remaining() < RECORD_SIZE) {
+                    flush(recordOut, recordBuffer);
+                }
+                recordBuffer.putInt(product.getProductId()).putInt(code).putDouble(product.getPrice())
+                            .putLong(nameOffset).putLong(descriptionOffset);
+                size++;
+            }
+            flush(out, stringBuffer);
+            flush(recordOut, recordBuffer);
+            stringsLength = stringPosition;
+            
+            // Records follow the strings
+            long recordsOffset = HEADER_SIZE + stringsLength;
+            long recordsLength = (long) size * RECORD_SIZE;
+            for (long copied = 0; copied < recordsLength; ) {
+                copied += recordOut.transferTo(copied, recordsLength - copied, out.position(recordsOffset + copied));
+            }
+            
+            // Pass 2: sort rows by name reading the strings in place, then append the name index
+            String[] categories = new String[categoryCodes.size()];
+            categoryCodes.forEach((name, code) -> categories[code] = name);
+            MappedCatalog partial = new MappedCatalog(size, chunkShift,
+                                                      map(out, HEADER_SIZE, stringsLength, chunkShift),
+                                                      map(out, recordsOffset, recordsLength, chunkShift),
+                                                      new ByteBuffer[0], categories);
+            int[] rows = new int[size];
+            for (int i = 0; i < size; i++) {
+                rows[i] = i;
+            }
+            partial.sortRowsByName(rows, 0, size - 1);
+            long nameIndexOffset = recordsOffset + recordsLength;
+            out.position(nameIndexOffset);
+            ByteBuffer indexBuffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            for (int row : rows) {
+                if (indexBuffer.remaining() < 4) {
+                    flush(out, indexBuffer);
+                }
+                indexBuffer.putInt(row);
+            }
+            flush(out, indexBuffer);
+            
+            long categoriesOffset = nameIndexOffset + 4L * size;
+            out.position(categoriesOffset);
+            ByteBuffer categoryBuffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            for (String category : categories) {
+                byte[] bytes = category.getBytes(StandardCharsets.UTF_8);
+                categoryBuffer.putInt(bytes.length).put(bytes);
+            }
+            flush(out, categoryBuffer);
+            
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(size).putInt(categories.length)
+                  .putLong(HEADER_SIZE).putLong(stringsLength).putLong(recordsOffset)
+                  .putLong(nameIndexOffset).putLong(categoriesOffset).putInt(chunkShift).putInt(0);
+            header.flip();
+            while (header.hasRemaining()) {
+                out.write(header, header.position());
+            }
+        } finally {
+            Files.deleteIfExists(recordFile);
+        }
+    }
+    
+    /**
+     * Get number of products in the catalog
+     * @return Number of products
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Find the row holding a product ID using binary search over the mapped records
+     * Time Complexity: O(log n), no allocation
+     * 
+     * @param targetId Product ID to search for
+     * @return Row index, or -1 if absent
+     */
+    public int indexOfId(int targetId) {
+        int left = 0;
+        int right = size - 1;
+        while (left <= right) {
+            int mid = (left + right) >>> 1;
+            int currentId = getProductId(mid);
+            if (currentId == targetId) {
+                return mid;
+            } else if (currentId < targetId) {
+                left = mid + 1;
+            } else {
+                right = mid - 1;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Find a row whose name equals a string ignoring case, comparing against the UTF-8 bytes in place
+     * Time Complexity: O(log n * name length)
+     * 
+     * @param targetName Product name to search for
+     * @return Row index of a matching product, or -1 if absent
+     */
+    public int indexOfName(String targetName) {
+        byte[] target = targetName.getBytes(StandardCharsets.UTF_8);
+        int left = 0;
+        int right = size - 1;
+        while (left <= right) {
+            int mid = (left + right) >>> 1;
+            int row = nameIndex[chunk(4L * mid)].getInt(offsetInChunk(4L * mid));
+            int comparison = compareStringIgnoreCase(nameOffset(row), target, targetName);
+            if (comparison == 0) {
+                return row;
+            } else if (comparison < 0) {
+                left = mid + 1;
+            } else {
+                right = mid - 1;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Find a product by ID and materialize it
+     * @param targetId Product ID to search for
+     * @return New Product built from the file, or null if absent
+     */
+    public Product findById(int targetId) {
+        int row = indexOfId(targetId);
+        return row < 0 ? null : getProduct(row);
+    }
+    
+    /**
+     * Find a product by name (ignoring case) and materialize it
+     * @param targetName Product name to search for
+     * @return New Product built from the file, or null if absent
+     */
+    public Product findByName(String targetName) {
+        int row = indexOfName(targetName);
+        return row < 0 ? null : getProduct(row);
+    }
+    
+    /**
+     * Get product ID stored in a row
+     * @param row Row index (0 = smallest ID)
+     * @return Product ID
+     */
+    public int getProductId(int row) {
+        long offset = (long) row * RECORD_SIZE;
+        return records[chunk(offset)].getInt(offsetInChunk(offset));
+    }
+    
+    /**
+     * Get price stored in a row
+     * @param row Row index
+     * @return Price
+     */
+    public double getPrice(int row) {
+        long offset = (long) row * RECORD_SIZE + 8;
+        return records[chunk(offset)].getDouble(offsetInChunk(offset));
+    }
+    
+    /**
+     * Get category name stored in a row
+     * @param row Row index
+     * @return Category
+     */
+    public String getCategory(int row) {
+        long offset = (long) row * RECORD_SIZE + 4;
+        return categories[records[chunk(offset)].getInt(offsetInChunk(offset))];
+    }
+    
+    /**
+     * Get product name stored in a row (decoded from the mapped UTF-8 bytes)
+     * @param row Row index
+     * @return Product name
+     */
+    public String getProductName(int row) {
+        return readString(nameOffset(row));
+    }
+    
+    /**
+     * Get description stored in a row (decoded from the mapped UTF-8 bytes)
+     * @param row Row index
+     * @return Description, or null if the product had none
+     */
+    public String getDescription(int row) {
+        long offset = (long) row * RECORD_SIZE + 24;
+        long descriptionOffset = records[chunk(offset)].getLong(offsetInChunk(offset));
+        return descriptionOffset == NULL_STRING ? null : readString(descriptionOffset);
+    }
+    
+    /**
+     * Build a Product object for a row
+     * @param row Row index
+     * @return New Product with the row's values
+     */
+    public Product getProduct(int row) {
+        return new Product(getProductId(row), getProductName(row), getCategory(row), getPrice(row), getDescription(row));
+    }
+    
+    /**
+     * Build a catalog file from a generated catalog, or open one and look up a product
+     * Usage: java MappedCatalog build <count> <file> [seed]
+     *        java MappedCatalog open <file> [productId]
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 3 && args[0].equals("build")) {
+            long count = Long.parseLong(args[1].replace("_", ""));
+            long seed = args.length > 3 ? Long.parseLong(args[3]) : 42;
+            long start = System.nanoTime();
+            write(Paths.get(args[2]), new CatalogGenerator(seed).stream(count).iterator());
+            System.out.printf("✓ Wrote %,d products to %s (%,d bytes) in %.1f s%n",
+                              count, args[2], Files.size(Paths.get(args[2])), (System.nanoTime() - start) / 1e9);
+        } else if (args.length >= 2 && args[0].equals("open")) {
+            long start = System.nanoTime();
+            MappedCatalog catalog = open(Paths.get(args[1]));
+            System.out.printf("✓ Opened %,d products in %.2f ms%n", catalog.size(), (System.nanoTime() - start) / 1e6);
+            int targetId = args.length > 2 ? Integer.parseInt(args[2]) : catalog.getProductId(catalog.size() / 2);
+            start = System.nanoTime();
+            Product product = catalog.findById(targetId);
+            System.out.printf("Lookup of ID %d took %.1f µs: %s%n", targetId, (System.nanoTime() - start) / 1e3, product);
+        } else {
+            System.out.println("Usage: java MappedCatalog build <count> <file> [seed]");
+            System.out.println("       java MappedCatalog open <file> [productId]");
+        }
+    }
+    
+    /**
+     * Offset (within the strings region) of a row's name
+     */
+    private long nameOffset(int row) {
+        long offset = (long) row * RECORD_SIZE + 16;
+        return records[chunk(offset)].getLong(offsetInChunk(offset));
+    }
+    
+    private int chunk(long offset) {
+        return (int) (offset >>> chunkShift);
+    }
+    
+    private int offsetInChunk(long offset) {
+        return (int) (offset & chunkMask);
+    }
+    
+    /**
+     * Decode the string stored at an offset of the strings region
+     */
+    private String readString(long offset) {
+        ByteBuffer chunk = strings[chunk(offset)];
+        int position = offsetInChunk(offset);
+        byte[] bytes = new byte[chunk.getInt(position)];
+        ByteBuffer view = chunk.duplicate();
+        view.position(position + 4);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Compare a stored string with a target ignoring case, like String.compareToIgnoreCase
+     * ASCII bytes are compared in place; a difference involving other characters falls back to decoding
+     */
+    private int compareStringIgnoreCase(long offset, byte[] target, String targetString) {
+        ByteBuffer chunk = strings[chunk(offset)];
+        int position = offsetInChunk(offset);
+        int length = chunk.getInt(position);
+        position += 4;
+        int limit = Math.min(length, target.length);
+        for (int i = 0; i < limit; i++) {
+            int a = chunk.get(position + i) & 0xFF;
+            int b = target[i] & 0xFF;
+            if (a != b) {
+                if ((a | b) >= 0x80) {
+                    return readString(offset).compareToIgnoreCase(targetString);
+                }
+                int diff = lowerAscii(a) - lowerAscii(b);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+        }
+        // One string is a byte prefix of the other, so it is also the shorter in characters
+        return length - target.length;
+    }
+    
+    /**
+     * Compare the stored names of two rows ignoring case
+     */
+    private int compareNames(int rowA, int rowB) {
+        long offsetA = nameOffset(rowA);
+        long offsetB = nameOffset(rowB);
+        ByteBuffer chunkA = strings[chunk(offsetA)];
+        ByteBuffer chunkB = strings[chunk(offsetB)];
+        int positionA = offsetInChunk(offsetA);
+        int positionB = offsetInChunk(offsetB);
+        int lengthA = chunkA.getInt(positionA);
+        int lengthB = chunkB.getInt(positionB);
+        int limit = Math.min(lengthA, lengthB);
+        for (int i = 0; i < limit; i++) {
+            int a = chunkA.get(positionA + 4 + i) & 0xFF;
+            int b = chunkB.get(positionB + 4 + i) & 0xFF;
+            if (a != b) {
+                if ((a | b) >= 0x80) {
+                    return readString(offsetA).compareToIgnoreCase(readString(offsetB));
+                }
+                int diff = lowerAscii(a) - lowerAscii(b);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+        }
+        return lengthA - lengthB;
+    }
+    
+    private static int lowerAscii(int c) {
+        return c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c;
+    }
+    
+    /**
+     * Compare two rows by name, falling back to row order (product ID)
+     */
+    private int compareRows(int rowA, int rowB) {
+        int result = compareNames(rowA, rowB);
+        return result != 0 ? result : Integer.compare(rowA, rowB);
+    }
+    
+    /**
+     * Quicksort row indexes by name in place, using insertion sort for short ranges
+     */
+    private void sortRowsByName(int[] rows, int low, int high) {
+        while (high - low > 16) {
+            int mid = (low + high) >>> 1;
+            // Median of three keeps the split balanced on already-sorted names
+            if (compareRows(rows[mid], rows[low]) < 0) swap(rows, mid, low);
+            if (compareRows(rows[high], rows[low]) < 0) swap(rows, high, low);
+            if (compareRows(rows[high], rows[mid]) < 0) swap(rows, high, mid);
+            int pivot = rows[mid];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (compareRows(rows[i], pivot) < 0) i++;
+                while (compareRows(rows[j], pivot) > 0) j--;
+                if (i <= j) {
+                    swap(rows, i++, j--);
+                }
+            }
+            // Recurse into the smaller half so stack depth stays O(log n)
+            if (j - low < high - i) {
+                sortRowsByName(rows, low, j);
+                low = i;
+            } else {
+                sortRowsByName(rows, i, high);
+                high = j;
+            }
+        }
+        for (int i = low + 1; i <= high; i++) {
+            int row = rows[i];
+            int j = i - 1;
+            while (j >= low && compareRows(rows[j], row) > 0) {
+                rows[j + 1] = rows[j];
+                j--;
+            }
+            rows[j + 1] = row;
+        }
+    }
+    
+    private static void swap(int[] array, int i, int j) {
+        int tmp = array[i];
+        array[i] = array[j];
+        array[j] = tmp;
+    }
+    
+    /**
+     * Map a file region read-only in chunks of 2^chunkShift bytes
+     */
+    private static ByteBuffer[] map(FileChannel channel, long offset, long length, int chunkShift) throws IOException {
+        long chunkSize = 1L << chunkShift;
+        int chunks = (int) ((length + chunkSize - 1) >>> chunkShift);
+        ByteBuffer[] buffers = new ByteBuffer[Math.max(1, chunks)];
+        for (int i = 0; i < buffers.length; i++) {
+            long start = offset + i * chunkSize;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                                                  Math.max(0, Math.min(chunkSize, length - i * chunkSize)));
+            buffers[i] = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return buffers;
+    }
+    
+    /**
+     * Pad the strings region so a string of the given length does not cross a chunk boundary
+     * @return Offset where the string will start
+     */
+    private static long alignForString(long position, int length, long chunkSize, FileChannel out,
+                                       ByteBuffer buffer) throws IOException {
+        if (4L + length > chunkSize) {
+            throw new IllegalArgumentException("String of " + length + " bytes does not fit in a mapping chunk");
+        }
+        long room = chunkSize - (position & (chunkSize - 1));
+        if (4L + length <= room) {
+            return position;
+        }
+        for (long i = 0; i < room; i++) {
+            if (!buffer.hasRemaining()) {
+                flush(out, buffer);
+            }
+            buffer.put((byte) 0);
+        }
+        return position + room;
+    }
+    
+    /**
+     * Append a length-prefixed string to the strings region
+     * @return Position after the string
+     */
+    private static long putString(FileChannel out, ByteBuffer buffer, byte[] bytes, long position) throws IOException {
+        if (buffer.remaining() < 4 + bytes.length) {
+            flush(out, buffer);
+        }
+        if (buffer.remaining() < 4 + bytes.length) {
+            // Longer than the whole buffer: write it directly
+            ByteBuffer large = ByteBuffer.allocate(4 + bytes.length).order(ByteOrder.LITTLE_ENDIAN);
+            large.putInt(bytes.length).put(bytes);
+            flush(out, large);
+        } else {
+            buffer.putInt(bytes.length).put(bytes);
+        }
+        return position + 4 + bytes.length;
+    }
+    
+    /**
+     * Write a buffer's contents at the channel's current position and clear it
+     */
+    private static void flush(FileChannel out, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+    
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,265 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * ParallelSearchAlgorithms class with fork-join variants of the SearchAlgorithms sorts and scans
+ * Arrays below the thresholds are handed to the sequential code, where thread overhead would dominate
+ */
+public class ParallelSearchAlgorithms {
+    /** Arrays shorter than this are sorted with the sequential Arrays.sort */
+    public static final int PARALLEL_SORT_THRESHOLD = 1 << 16;
+    /** Arrays shorter than this are scanned on the calling thread */
+    public static final int PARALLEL_SCAN_THRESHOLD = 1 << 15;
+    /** Number of products one fork-join task scans before it stops splitting */
+    private static final int SCAN_LEAF_SIZE = 1 << 13;
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX_BUCKETS = 1 << RADIX_BITS;
+    private static final SearchMetrics.Operation PARALLEL_LINEAR_SEARCH = SearchMetrics.operation("linearSearch (parallel)");
+    
+    /**
+     * Parallel Linear Search: the array is split across the common ForkJoinPool
+     * Time Complexity: O(n / p) with p worker threads
+     * 
+     * @param products Array of products to search in (any order)
+     * @param targetId Product ID to search for
+     * @return First product (lowest index) with the ID, null if absent
+     */
+    public static Product linearSearch(Product[] products, int targetId) {
+        boolean verbose = SearchAlgorithms.isVerbose();
+        if (verbose) {
+            System.out.println("Performing Parallel Linear Search for Product ID: " + targetId);
+        }
+        long startNanos = System.nanoTime();
+        int index = findFirst(products, product -> product.getProductId() == targetId);
+        PARALLEL_LINEAR_SEARCH.record(index >= 0, 0, System.nanoTime() - startNanos);
+        if (verbose) {
+            System.out.println(index >= 0 ? "✓ Product found at index " + index : "✗ Product not found");
+        }
+        return index >= 0 ? products[index] : null;
+    }
+    
+    /**
+     * Find the lowest index whose product matches a predicate
+     * Tasks stop as soon as a match is known at a lower index than the range they would scan,
+     * so the search short-circuits without giving up the "first match" guarantee
+     * 
+     * @param products Array of products to scan
+     * @param predicate Match condition (must be thread-safe)
+     * @return Index of the first match, -1 if none
+     */
+    public static int findFirst(Product[] products, Predicate<Product> predicate) {
+        if (products.length < PARALLEL_SCAN_THRESHOLD) {
+            for (int i = 0; i < products.length; i++) {
+                if (predicate.test(products[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        AtomicInteger firstMatch = new AtomicInteger(Integer.MAX_VALUE);
+        ForkJoinPool.commonPool().invoke(new ScanTask(products, predicate, 0, products.length, firstMatch));
+        int index = firstMatch.get();
+        return index == Integer.MAX_VALUE ? -1 : index;
+    }
+    
+    /**
+     * Sort products by ID with a parallel LSD radix sort (stable, 8 bits per pass)
+     * Time Complexity: O(n / p) per pass, at most 4 passes
+     * 
+     * @param products Array of products to sort in place
+     */
+    public static void sortProductsById(Product[] products) {
+        if (SearchAlgorithms.isVerbose()) {
+            System.out.println("Sorting products by ID (parallel radix sort)...");
+        }
+        if (products.length < PARALLEL_SORT_THRESHOLD) {
+            Arrays.sort(products);
+        } else {
+            radixSortById(products);
+        }
+        if (SearchAlgorithms.isVerbose()) {
+            System.out.println("✓ Products sorted successfully");
+        }
+    }
+    
+    /**
+     * Sort products by name using Arrays.parallelSort
+     * Time Complexity: O(n log n / p)
+     * 
+     * @param products Array of products to sort in place
+     */
+    public static void sortProductsByName(Product[] products) {
+        if (SearchAlgorithms.isVerbose()) {
+            System.out.println("Sorting products by name (parallel merge sort)...");
+        }
+        if (products.length < PARALLEL_SORT_THRESHOLD) {
+            Arrays.sort(products, (p1, p2) -> p1.getProductName().compareToIgnoreCase(p2.getProductName()));
+        } else {
+            Arrays.parallelSort(products, (p1, p2) -> p1.getProductName().compareToIgnoreCase(p2.getProductName()));
+        }
+        if (SearchAlgorithms.isVerbose()) {
+            System.out.println("✓ Products sorted by name successfully");
+        }
+    }
+    
+    /**
+     * LSD radix sort on product ID; each pass builds per-chunk histograms and scatters in parallel
+     */
+    private static void radixSortById(Product[] products) {
+        int n = products.length;
+        int chunks = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * 4, n / SCAN_LEAF_SIZE));
+        int chunkSize = (n + chunks - 1) / chunks;
+        
+        // Flip the sign bit so negative IDs order before positive ones as unsigned keys
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = products[i].getProductId() ^ Integer.MIN_VALUE;
+        }
+        int[] keyBuffer = new int[n];
+        Product[] productBuffer = new Product[n];
+        int[][] counts = new int[chunks][RADIX_BUCKETS];
+        
+        int[] sourceKeys = keys;
+        Product[] sourceProducts = products;
+        for (int shift = 0; shift < Integer.SIZE; shift += RADIX_BITS) {
+            for (int[] chunkCounts : counts) {
+                Arrays.fill(chunkCounts, 0);
+            }
+            ForkJoinPool.commonPool().invoke(new RadixPass(sourceKeys, null, null, null, counts, shift, chunkSize, 0, chunks));
+            
+            // Skip passes where every key has the same digit (common for dense ID ranges)
+            boolean singleBucket = false;
+            for (int bucket = 0; bucket < RADIX_BUCKETS && !singleBucket; bucket++) {
+                int total = 0;
+                for (int[] chunkCounts : counts) {
+                    total += chunkCounts[bucket];
+                }
+                singleBucket = total == n;
+            }
+            if (singleBucket) {
+                continue;
+            }
+            
+            // Exclusive prefix sums in (bucket, chunk) order give each chunk its write offsets
+            int offset = 0;
+            for (int bucket = 0; bucket < RADIX_BUCKETS; bucket++) {
+                for (int[] chunkCounts : counts) {
+                    int count = chunkCounts[bucket];
+                    chunkCounts[bucket] = offset;
+                    offset += count;
+                }
+            }
+            int[] targetKeys = sourceKeys == keys ? keyBuffer : keys;
+            Product[] targetProducts = sourceProducts == products ? productBuffer : products;
+            ForkJoinPool.commonPool().invoke(new RadixPass(sourceKeys, sourceProducts, targetKeys, targetProducts,
+                                                           counts, shift, chunkSize, 0, chunks));
+            sourceKeys = targetKeys;
+            sourceProducts = targetProducts;
+        }
+        if (sourceProducts != products) {
+            System.arraycopy(sourceProducts, 0, products, 0, n);
+        }
+    }
+    
+    /**
+     * One radix pass over a range of chunks: counts digits, or scatters when target arrays are given
+     */
+    private static class RadixPass extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        
+        private final int[] keys;
+        private final Product[] products;
+        private final int[] targetKeys;
+        private final Product[] targetProducts;
+        private final int[][] counts;
+        private final int shift;
+        private final int chunkSize;
+        private final int fromChunk;
+        private final int toChunk;
+        
+        RadixPass(int[] keys, Product[] products, int[] targetKeys, Product[] targetProducts,
+                  int[][] counts, int shift, int chunkSize, int fromChunk, int toChunk) {
+            this.keys = keys;
+            this.products = products;
+            this.targetKeys = targetKeys;
+            this.targetProducts = targetProducts;
+            this.counts = counts;
+            this.shift = shift;
+            this.chunkSize = chunkSize;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+        
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk > 1) {
+                int mid = (fromChunk + toChunk) >>> 1;
+                invokeAll(new RadixPass(keys, products, targetKeys, targetProducts, counts, shift, chunkSize, fromChunk, mid),
+                          new RadixPass(keys, products, targetKeys, targetProducts, counts, shift, chunkSize, mid, toChunk));
+                return;
+            }
+            int[] chunkCounts = counts[fromChunk];
+            int from = fromChunk * chunkSize;
+            int to = Math.min(keys.length, from + chunkSize);
+            if (targetKeys == null) {
+                for (int i = from; i < to; i++) {
+                    chunkCounts[(keys[i] >>> shift) & (RADIX_BUCKETS - 1)]++;
+                }
+            } else {
+                for (int i = from; i < to; i++) {
+                    int position = chunkCounts[(keys[i] >>> shift) & (RADIX_BUCKETS - 1)]++;
+                    targetKeys[position] = keys[i];
+                    targetProducts[position] = products[i];
+                }
+            }
+        }
+    }
+    
+    /**
+     * Fork-join task scanning a range for the first product matching a predicate
+     */
+    private static class ScanTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        
+        private final Product[] products;
+        private final Predicate<Product> predicate;
+        private final int from;
+        private final int to;
+        private final AtomicInteger firstMatch;
+        
+        ScanTask(Product[] products, Predicate<Product> predicate, int from, int to, AtomicInteger firstMatch) {
+            this.products = products;
+            this.predicate = predicate;
+            this.from = from;
+            this.to = to;
+            this.firstMatch = firstMatch;
+        }
+        
+        @Override
+        protected void compute() {
+            if (from >= firstMatch.get()) {
+                // A match earlier in the array is already known; nothing here can beat it
+                return;
+            }
+            if (to - from > SCAN_LEAF_SIZE) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ScanTask(products, predicate, from, mid, firstMatch),
+                          new ScanTask(products, predicate, mid, to, firstMatch));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                // Re-check periodically so a leaf stops once an earlier match shows up
+                if ((i & 1023) == 0 && i >= firstMatch.get()) {
+                    return;
+                }
+                if (predicate.test(products[i])) {
+                    firstMatch.accumulateAndGet(i, Math::min);
+                    return;
+                }
+            }
+        }
+    }
+} 
\ No newline at end of file
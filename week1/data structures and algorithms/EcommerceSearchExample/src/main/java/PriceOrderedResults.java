@@ -0,0 +1,230 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * PriceOrderedResults class returning matching products cheapest first, sorting only as far as it is read
+ * Uses incremental quicksort: the next result is found by partitioning only the unsorted range in front
+ * of it, and pivots already placed are remembered on a stack, so the first page of k results costs
+ * expected O(n + k log k) and every later page continues from where the previous one stopped
+ */
+public class PriceOrderedResults implements Iterator<Product> {
+    // Ranges this short are finished with insertion sort
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+    
+    // Results come from an array, or from catalog rows when built by inCategory
+    private final Product[] source;
+    private final ProductCatalog catalog;
+    private final double[] prices;
+    private final int[] ids;
+    private final int[] positions;
+    private final int size;
+    private final int[] pivots;
+    private int pivotCount;
+    private int next;
+    private int sortedEnd;
+    
+    /**
+     * Constructor for PriceOrderedResults over the products that pass a filter
+     * Time Complexity: O(n) to copy the matching prices into a primitive column
+     * 
+     * @param products Products in any order (not modified)
+     * @param filter Products to include, or null for all
+     */
+    public PriceOrderedResults(Product[] products, Predicate<? super Product> filter) {
+        source = products;
+        catalog = null;
+        int[] matches = new int[products.length];
+        int count = 0;
+        for (int i = 0; i < products.length; i++) {
+            if (filter == null || filter.test(products[i])) {
+                matches[count++] = i;
+            }
+        }
+        size = count;
+        positions = Arrays.copyOf(matches, count);
+        prices = new double[count];
+        ids = new int[count];
+        for (int i = 0; i < count; i++) {
+            prices[i] = products[positions[i]].getPrice();
+            ids[i] = products[positions[i]].getProductId();
+        }
+        pivots = new int[64];
+        pivots[pivotCount++] = count;
+    }
+    
+    /**
+     * Create results for one category of a columnar catalog, reading only its columns
+     * @param catalog Columnar product catalog
+     * @param category Category name, or null for all rows
+     * @return Results in ascending price order (ties by product ID)
+     */
+    public static PriceOrderedResults inCategory(ProductCatalog catalog, String category) {
+        int[] rows;
+        if (category == null) {
+            rows = new int[catalog.size()];
+            for (int row = 0; row < rows.length; row++) {
+                rows[row] = row;
+            }
+        } else {
+            rows = catalog.rowsInCategory(category);
+        }
+        return new PriceOrderedResults(catalog, rows);
+    }
+    
+    private PriceOrderedResults(ProductCatalog catalog, int[] rows) {
+        this.catalog = catalog;
+        source = null;
+        size = rows.length;
+        positions = rows;
+        prices = new double[size];
+        ids = new int[size];
+        for (int i = 0; i < size; i++) {
+            prices[i] = catalog.getPrice(rows[i]);
+            ids[i] = catalog.getProductId(rows[i]);
+        }
+        pivots = new int[64];
+        pivots[pivotCount++] = size;
+    }
+    
+    /**
+     * Check whether more results remain
+     * @return True if next() can be called
+     */
+    @Override
+    public boolean hasNext() {
+        return next < size;
+    }
+    
+    /**
+     * Get the next cheapest product
+     * Time Complexity: amortized O(log n) expected; the first call is O(n)
+     * 
+     * @return Next product in ascending price order (ties by product ID)
+     */
+    @Override
+    public Product next() {
+        if (next >= size) {
+            throw new NoSuchElementException();
+        }
+        if (next == sortedEnd) {
+            sortFront();
+        }
+        int position = positions[next++];
+        return catalog != null ? catalog.getProduct(position) : source[position];
+    }
+    
+    /**
+     * Get the next page of results
+     * Time Complexity: O(pageSize log n) expected, plus O(n) once for the first page
+     * 
+     * @param pageSize Maximum number of products
+     * @return Up to pageSize products continuing the price order (empty when exhausted)
+     */
+    public Product[] nextPage(int pageSize) {
+        Product[] page = new Product[Math.max(0, Math.min(pageSize, size - next))];
+        for (int i = 0; i < page.length; i++) {
+            page[i] = next();
+        }
+        return page;
+    }
+    
+    /**
+     * Get total number of matching products
+     * @return Result count
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Get number of products not yet returned
+     * @return Remaining count
+     */
+    public int remaining() {
+        return size - next;
+    }
+    
+    /**
+     * Put the results at the front of the unread range into their final places
+     * Partitions [next, pivot) until the range before the nearest pivot is short, then insertion sorts it
+     */
+    private void sortFront() {
+        while (pivots[pivotCount - 1] - next > INSERTION_SORT_THRESHOLD) {
+            int pivot = partition(next, pivots[pivotCount - 1] - 1);
+            if (pivotCount == pivots.length) {
+                dropFarthestPivot();
+            }
+            pivots[pivotCount++] = pivot;
+        }
+        int end = pivots[pivotCount - 1];
+        insertionSort(next, end - 1);
+        // The pivot itself is already in its final place
+        sortedEnd = Math.min(size, end + 1);
+        pivotCount--;
+        if (pivotCount == 0) {
+            pivots[pivotCount++] = size;
+        }
+    }
+    
+    /**
+     * Keep the pivot stack bounded by dropping the farthest pivot (the end sentinel stays); its range
+     * is simply partitioned again when the reader gets there
+     */
+    private void dropFarthestPivot() {
+        System.arraycopy(pivots, 1, pivots, 0, pivots.length - 1);
+        pivotCount--;
+        pivots[0] = size;
+    }
+    
+    /**
+     * Partition [low, high] around a median-of-three pivot
+     * @return Final position of the pivot; smaller entries are before it, larger ones after
+     */
+    private int partition(int low, int high) {
+        int mid = (low + high) >>> 1;
+        if (less(mid, low)) swap(mid, low);
+        if (less(high, low)) swap(high, low);
+        if (less(mid, high)) swap(mid, high);
+        // The median is now at high and is used as the pivot
+        int store = low;
+        for (int i = low; i < high; i++) {
+            if (less(i, high)) {
+                swap(i, store++);
+            }
+        }
+        swap(store, high);
+        return store;
+    }
+    
+    private void insertionSort(int low, int high) {
+        for (int i = low + 1; i <= high; i++) {
+            int j = i;
+            while (j > low && less(j, j - 1)) {
+                swap(j, j - 1);
+                j--;
+            }
+        }
+    }
+    
+    /**
+     * Compare by price, then product ID
+     */
+    private boolean less(int a, int b) {
+        int comparison = Double.compare(prices[a], prices[b]);
+        return comparison < 0 || (comparison == 0 && ids[a] < ids[b]);
+    }
+    
+    private void swap(int a, int b) {
+        double price = prices[a];
+        prices[a] = prices[b];
+        prices[b] = price;
+        int id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        int position = positions[a];
+        positions[a] = positions[b];
+        positions[b] = position;
+    }
+}
\ No newline at end of file
@@ -1,3 +1,5 @@
+import java.util.Arrays;
+
 /**
  * Product class representing items in an e-commerce platform
  * Contains attributes for searching and identification
@@ -7,7 +9,10 @@ public class Product implements Comparable<Product> {
     private String productName;
     private String category;
     private double price;
-    private String description;
+    // Plain or compressed text (compressed when pooled with compression); null when there is none
+    private ProductDescription description;
+    // Listeners registered on this product (copy-on-write; null while there are none)
+    private volatile ProductChangeListener[] changeListeners;
     
     /**
      * Constructor for Product
@@ -22,7 +27,18 @@ public class Product implements Comparable<Product> {
         this.productName = productName;
         this.category = category;
         this.price = price;
-        this.description = description;
+        this.description = ProductDescription.of(description);
+    }
+    
+    /**
+     * Create a product sharing an existing description holder (e.g. a pooled or compressed one)
+     * A factory rather than a constructor overload, so new Product(..., null) stays unambiguous
+     */
+    static Product withDescription(int productId, String productName, String category, double price,
+                                   ProductDescription description) {
+        Product product = new Product(productId, productName, category, price, null);
+        product.description = description;
+        return product;
     }
     
     /**
@@ -62,6 +78,15 @@ public class Product implements Comparable<Product> {
      * @return Product description
      */
     public String getDescription() {
+        // Compressed descriptions are inflated on each call
+        return description == null ? null : description.text();
+    }
+    
+    /**
+     * Get the stored description holder without inflating it
+     * @return Description holder, or null if the product has none
+     */
+    ProductDescription getDescriptionData() {
         return description;
     }
     
@@ -70,7 +95,14 @@ public class Product implements Comparable<Product> {
      * @param price New price
      */
     public void setPrice(double price) {
+        double oldPrice = this.price;
         this.price = price;
+        ProductChangeListener[] listeners = changeListeners;
+        if (listeners != null) {
+            for (ProductChangeListener listener : listeners) {
+                listener.priceChanged(this, oldPrice);
+            }
+        }
     }
     
     /**
@@ -78,7 +110,57 @@ public class Product implements Comparable<Product> {
      * @param description New description
      */
     public void setDescription(String description) {
-        this.description = description;
+        ProductChangeListener[] listeners = changeListeners;
+        if (listeners == null) {
+            // Nobody needs the old description, so a compressed one is not inflated
+            this.description = ProductDescription.of(description);
+            return;
+        }
+        String oldDescription = getDescription();
+        this.description = ProductDescription.of(description);
+        for (ProductChangeListener listener : listeners) {
+            listener.descriptionChanged(this, oldDescription);
+        }
+    }
+    
+    /**
+     * Register a listener notified after this product's price or description changes
+     * Listeners are kept per product, so an index or cache only hears about the products it holds
+     * @param listener Listener to add
+     */
+    public synchronized void addChangeListener(ProductChangeListener listener) {
+        ProductChangeListener[] listeners = changeListeners;
+        if (listeners == null) {
+            changeListeners = new ProductChangeListener[] {listener};
+        } else {
+            listeners = Arrays.copyOf(listeners, listeners.length + 1);
+            listeners[listeners.length - 1] = listener;
+            changeListeners = listeners;
+        }
+    }
+    
+    /**
+     * Unregister a listener from this product
+     * @param listener Listener to remove
+     */
+    public synchronized void removeChangeListener(ProductChangeListener listener) {
+        ProductChangeListener[] listeners = changeListeners;
+        if (listeners == null) {
+            return;
+        }
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                if (listeners.length == 1) {
+                    changeListeners = null;
+                } else {
+                    ProductChangeListener[] remaining = new ProductChangeListener[listeners.length - 1];
+                    System.arraycopy(listeners, 0, remaining, 0, i);
+                    System.arraycopy(listeners, i + 1, remaining, i, remaining.length - i);
+                    changeListeners = remaining;
+                }
+                return;
+            }
+        }
     }
     
     /**
@@ -120,6 +202,6 @@ public class Product implements Comparable<Product> {
     @Override
     public String toString() {
         return String.format("Product{ID=%d, Name='%s', Category='%s', Price=%.2f, Description='%s'}", 
-                           productId, productName, category, price, description);
+                           productId, productName, category, price, getDescription());
     }
 } 
\ No newline at end of file
@@ -0,0 +1,542 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ProductCatalog class storing products column by column in dense primitive arrays
+ * Rows are ordered by product ID so lookups, range scans and sorts never touch Product objects
+ */
+public class ProductCatalog {
+    private final int size;
+    private final int[] productIds;
+    private final double[] prices;
+    private final int[] categoryCodes;
+    private final String[] categoryNames;
+    private final char[] namePool;
+    private final int[] nameOffsets;
+    private final Product[] products;
+    
+    /**
+     * Constructor for ProductCatalog (use fromProducts to build one)
+     * @param productIds Product IDs sorted in ascending order
+     * @param prices Price column, one entry per row
+     * @param categoryCodes Category code column, one entry per row
+     * @param categoryNames Category name for each category code
+     * @param namePool Characters of every product name, back to back
+     * @param nameOffsets Start of each row's name in the pool, plus a final end offset
+     * @param products Original Product object for each row
+     */
+    private ProductCatalog(int[] productIds, double[] prices, int[] categoryCodes, String[] categoryNames,
+                           char[] namePool, int[] nameOffsets, Product[] products) {
+        this.size = productIds.length;
+        this.productIds = productIds;
+        this.prices = prices;
+        this.categoryCodes = categoryCodes;
+        this.categoryNames = categoryNames;
+        this.namePool = namePool;
+        this.nameOffsets = nameOffsets;
+        this.products = products;
+    }
+    
+    /**
+     * Build a columnar catalog from an array of products
+     * Time Complexity: O(n log n) - one primitive sort of packed (ID, position) keys
+     * 
+     * @param source Products in any order
+     * @return Catalog with rows sorted by product ID
+     */
+    public static ProductCatalog fromProducts(Product[] source) {
+        int n = source.length;
+        
+        // Sort (ID, original position) pairs packed into longs so the sort never dereferences a Product
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = ((long) source[i].getProductId() << 32) | i;
+        }
+        Arrays.sort(keys);
+        
+        int[] productIds = new int[n];
+        double[] prices = new double[n];
+        int[] categoryCodes = new int[n];
+        int[] nameOffsets = new int[n + 1];
+        Product[] products = new Product[n];
+        CategoryCodes codes = new CategoryCodes();
+        
+        int poolLength = 0;
+        for (int row = 0; row < n; row++) {
+            Product product = source[(int) keys[row]];
+            products[row] = product;
+            productIds[row] = product.getProductId();
+            prices[row] = product.getPrice();
+            categoryCodes[row] = codes.codeOf(product.getCategory());
+            nameOffsets[row] = poolLength;
+            poolLength += product.getProductName().length();
+        }
+        nameOffsets[n] = poolLength;
+        
+        char[] namePool = new char[poolLength];
+        for (int row = 0; row < n; row++) {
+            String name = products[row].getProductName();
+            name.getChars(0, name.length(), namePool, nameOffsets[row]);
+        }
+        
+        return new ProductCatalog(productIds, prices, categoryCodes, codes.names(),
+                                  namePool, nameOffsets, products);
+    }
+    
+    /**
+     * Get number of products in the catalog
+     * @return Number of rows
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Find the row holding a product ID using binary search over the ID column
+     * Time Complexity: O(log n)
+     * 
+     * @param targetId Product ID to search for
+     * @return Row index if found, otherwise -(insertion point) - 1
+     */
+    public int indexOfId(int targetId) {
+        return Arrays.binarySearch(productIds, 0, size, targetId);
+    }
+    
+    /**
+     * Find the row holding a product ID by scanning the ID column from the start
+     * Needs no sort order; for a few dozen rows the scan is as fast as binary search
+     * Time Complexity: O(n) with SIMD compares when ColumnScan.isVectorized()
+     * 
+     * @param targetId Product ID to search for
+     * @return Row index if found, otherwise -1
+     */
+    public int scanForId(int targetId) {
+        return ColumnScan.indexOf(productIds, 0, size, targetId);
+    }
+    
+    /**
+     * Find the rows of many product IDs together
+     * Targets are sorted; the median target splits the ID column so both halves of the batch search
+     * only their own part, and dense parts are resolved by a linear merge of targets and IDs
+     * Time Complexity: O(m log m + m log(n/m)) for m targets
+     * 
+     * @param targetIds Product IDs to search for (any order, duplicates allowed)
+     * @return Row of each target in the same order, or -1 where the ID is not in the catalog
+     */
+    public int[] indexOfIds(int[] targetIds) {
+        long[] keys = SearchAlgorithms.sortedTargets(targetIds);
+        int[] rows = new int[targetIds.length];
+        indexOfIds(keys, 0, keys.length, 0, size, rows);
+        return rows;
+    }
+    
+    /**
+     * Resolve sorted targets keys[keyFrom, keyTo) within rows [from, to)
+     */
+    private void indexOfIds(long[] keys, int keyFrom, int keyTo, int from, int to, int[] rows) {
+        while (keyFrom < keyTo) {
+            if (to - from <= 4 * (keyTo - keyFrom)) {
+                for (int k = keyFrom; k < keyTo; k++) {
+                    int targetId = (int) (keys[k] >> 32);
+                    while (from < to && productIds[from] < targetId) {
+                        from++;
+                    }
+                    rows[(int) keys[k]] = from < to && productIds[from] == targetId ? from : -1;
+                }
+                return;
+            }
+            int middleKey = (keyFrom + keyTo) >>> 1;
+            int row = Arrays.binarySearch(productIds, from, to, (int) (keys[middleKey] >> 32));
+            rows[(int) keys[middleKey]] = row >= 0 ? row : -1;
+            // Both halves keep the median's row so duplicates of the median target find it too
+            int leftEnd = row >= 0 ? row + 1 : -row - 1;
+            int rightStart = row >= 0 ? row : -row - 1;
+            if (middleKey - keyFrom < keyTo - middleKey - 1) {
+                indexOfIds(keys, keyFrom, middleKey, from, leftEnd, rows);
+                keyFrom = middleKey + 1;
+                from = rightStart;
+            } else {
+                indexOfIds(keys, middleKey + 1, keyTo, rightStart, to, rows);
+                keyTo = middleKey;
+                to = leftEnd;
+            }
+        }
+    }
+    
+    /**
+     * Find the first row whose product ID is greater than or equal to the given ID
+     * @param productId Lower bound (inclusive)
+     * @return First matching row, or size() if every ID is smaller
+     */
+    public int lowerBound(int productId) {
+        int left = 0;
+        int right = size;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            if (productIds[mid] < productId) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+        return left;
+    }
+    
+    /**
+     * Find the products whose IDs fall in a closed range
+     * Time Complexity: O(log n + k) where k is the number of matches
+     * 
+     * @param minId Smallest product ID to include
+     * @param maxId Largest product ID to include
+     * @return Matching products in ascending ID order
+     */
+    public Product[] rangeScanById(int minId, int maxId) {
+        if (minId > maxId) {
+            return new Product[0];
+        }
+        int from = lowerBound(minId);
+        int to = maxId == Integer.MAX_VALUE ? size : lowerBound(maxId + 1);
+        return Arrays.copyOfRange(products, from, to);
+    }
+    
+    /**
+     * Find the rows whose price falls in a closed range with a sequential scan of the price column
+     * Time Complexity: O(n) over a dense double[] column, vectorized when ColumnScan.isVectorized()
+     * 
+     * @param minPrice Smallest price to include
+     * @param maxPrice Largest price to include
+     * @return Matching rows in ascending ID order
+     */
+    public int[] rowsInPriceRange(double minPrice, double maxPrice) {
+        return ColumnScan.positionsInRange(prices, 0, size, minPrice, maxPrice);
+    }
+    
+    /**
+     * Find the rows belonging to a category by comparing integer category codes
+     * Time Complexity: O(n) over a dense int[] column, vectorized when ColumnScan.isVectorized()
+     * 
+     * @param category Category name
+     * @return Matching rows in ascending ID order (empty if the category is unknown)
+     */
+    public int[] rowsInCategory(String category) {
+        int code = categoryCodeOf(category);
+        if (code < 0) {
+            return new int[0];
+        }
+        return ColumnScan.positionsEqual(categoryCodes, 0, size, code);
+    }
+    
+    /**
+     * Get all rows ordered by price (ties broken by product ID)
+     * Time Complexity: O(n log n) - indirect sort reading only the price column
+     * 
+     * @return Row indexes sorted by ascending price
+     */
+    public int[] rowsSortedByPrice() {
+        int[] rows = identityRows();
+        sortRows(rows, 0, size - 1, false);
+        return rows;
+    }
+    
+    /**
+     * Get all rows ordered by case-insensitive product name (ties broken by product ID)
+     * Time Complexity: O(n log n) - indirect sort reading only the name pool
+     * 
+     * @return Row indexes sorted by name
+     */
+    public int[] rowsSortedByName() {
+        int[] rows = identityRows();
+        sortRows(rows, 0, size - 1, true);
+        return rows;
+    }
+    
+    /**
+     * Get the k cheapest rows (optionally of one category) without sorting the price column
+     * A bounded heap of row indexes reads only the price and category columns
+     * Time Complexity: O(n log k)
+     * 
+     * @param category Category name, or null for all rows
+     * @param k Number of rows wanted
+     * @return Up to k rows by ascending price (ties broken by product ID)
+     */
+    public int[] cheapestRows(String category, int k) {
+        int code = category == null ? -1 : categoryCodeOf(category);
+        if (k <= 0 || (category != null && code < 0)) {
+            return new int[0];
+        }
+        int[] heap = new int[Math.min(k, size)];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (code >= 0 && categoryCodes[row] != code) {
+                continue;
+            }
+            if (count < heap.length) {
+                // Sift up: the root holds the most expensive row kept so far
+                int i = count++;
+                while (i > 0 && compareRows(row, heap[(i - 1) >>> 1], false) > 0) {
+                    heap[i] = heap[(i - 1) >>> 1];
+                    i = (i - 1) >>> 1;
+                }
+                heap[i] = row;
+            } else if (prices[row] < prices[heap[0]]) {
+                // Rows arrive in ID order, so an equal price never displaces a kept row
+                siftDownMostExpensive(heap, 0, count, row);
+            }
+        }
+        int[] rows = Arrays.copyOf(heap, count);
+        for (int end = count - 1; end > 0; end--) {
+            int mostExpensive = rows[0];
+            siftDownMostExpensive(rows, 0, end, rows[end]);
+            rows[end] = mostExpensive;
+        }
+        return rows;
+    }
+    
+    /**
+     * Get product ID stored in a row
+     * @param row Row index
+     * @return Product ID
+     */
+    public int getProductId(int row) {
+        return productIds[row];
+    }
+    
+    /**
+     * Get price stored in a row
+     * @param row Row index
+     * @return Product price
+     */
+    public double getPrice(int row) {
+        return prices[row];
+    }
+    
+    /**
+     * Get category code stored in a row
+     * @param row Row index
+     * @return Category code (index into the category dictionary)
+     */
+    public int getCategoryCode(int row) {
+        return categoryCodes[row];
+    }
+    
+    /**
+     * Get category name stored in a row
+     * @param row Row index
+     * @return Category name
+     */
+    public String getCategory(int row) {
+        return categoryNames[categoryCodes[row]];
+    }
+    
+    /**
+     * Get product name stored in a row (copies it out of the name pool)
+     * @param row Row index
+     * @return Product name
+     */
+    public String getProductName(int row) {
+        return new String(namePool, nameOffsets[row], nameOffsets[row + 1] - nameOffsets[row]);
+    }
+    
+    /**
+     * Get the original Product object for a row
+     * @param row Row index
+     * @return Product
+     */
+    public Product getProduct(int row) {
+        return products[row];
+    }
+    
+    /**
+     * Look up the code assigned to a category name
+     * @param category Category name
+     * @return Category code, or -1 if no product has that category
+     */
+    public int categoryCodeOf(String category) {
+        for (int code = 0; code < categoryNames.length; code++) {
+            if (categoryNames[code].equals(category)) {
+                return code;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Get number of distinct categories
+     * @return Size of the category dictionary
+     */
+    public int getCategoryCount() {
+        return categoryNames.length;
+    }
+    
+    /**
+     * Get category name for a category code
+     * @param code Category code
+     * @return Category name
+     */
+    public String getCategoryName(int code) {
+        return categoryNames[code];
+    }
+    
+    /**
+     * Compare a row's name to a string ignoring case, without allocating
+     * @param row Row index
+     * @param name Name to compare with
+     * @return Negative, zero or positive like String.compareToIgnoreCase
+     */
+    public int compareNameIgnoreCase(int row, String name) {
+        int start = nameOffsets[row];
+        int length = nameOffsets[row + 1] - start;
+        int limit = Math.min(length, name.length());
+        for (int i = 0; i < limit; i++) {
+            int diff = compareCharIgnoreCase(namePool[start + i], name.charAt(i));
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return length - name.length();
+    }
+    
+    /**
+     * Compare the names of two rows ignoring case
+     */
+    private int compareNamesIgnoreCase(int rowA, int rowB) {
+        int startA = nameOffsets[rowA];
+        int startB = nameOffsets[rowB];
+        int lengthA = nameOffsets[rowA + 1] - startA;
+        int lengthB = nameOffsets[rowB + 1] - startB;
+        int limit = Math.min(lengthA, lengthB);
+        for (int i = 0; i < limit; i++) {
+            int diff = compareCharIgnoreCase(namePool[startA + i], namePool[startB + i]);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return lengthA - lengthB;
+    }
+    
+    /**
+     * Compare two characters the same way String.compareToIgnoreCase does
+     */
+    private static int compareCharIgnoreCase(char a, char b) {
+        if (a == b) {
+            return 0;
+        }
+        a = Character.toLowerCase(Character.toUpperCase(a));
+        b = Character.toLowerCase(Character.toUpperCase(b));
+        return a - b;
+    }
+    
+    /**
+     * Compare two rows by price or name, falling back to row order (product ID)
+     */
+    private int compareRows(int rowA, int rowB, boolean byName) {
+        int result = byName ? compareNamesIgnoreCase(rowA, rowB) : Double.compare(prices[rowA], prices[rowB]);
+        return result != 0 ? result : Integer.compare(rowA, rowB);
+    }
+    
+    /**
+     * Place a row at heap position i of a max-heap (by price, then ID) and sift it down
+     */
+    private void siftDownMostExpensive(int[] heap, int i, int count, int row) {
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= count) {
+                break;
+            }
+            if (child + 1 < count && compareRows(heap[child + 1], heap[child], false) > 0) {
+                child++;
+            }
+            if (compareRows(heap[child], row, false) <= 0) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = row;
+    }
+    
+    /**
+     * Create the array 0, 1, ..., size - 1
+     */
+    private int[] identityRows() {
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = i;
+        }
+        return rows;
+    }
+    
+    /**
+     * Quicksort row indexes in place, using insertion sort for short ranges
+     */
+    private void sortRows(int[] rows, int low, int high, boolean byName) {
+        while (high - low > 16) {
+            int mid = (low + high) >>> 1;
+            // Median of three keeps the split balanced on already-sorted columns
+            if (compareRows(rows[mid], rows[low], byName) < 0) swap(rows, mid, low);
+            if (compareRows(rows[high], rows[low], byName) < 0) swap(rows, high, low);
+            if (compareRows(rows[high], rows[mid], byName) < 0) swap(rows, high, mid);
+            int pivot = rows[mid];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (compareRows(rows[i], pivot, byName) < 0) i++;
+                while (compareRows(rows[j], pivot, byName) > 0) j--;
+                if (i <= j) {
+                    swap(rows, i++, j--);
+                }
+            }
+            // Recurse into the smaller half so stack depth stays O(log n)
+            if (j - low < high - i) {
+                sortRows(rows, low, j, byName);
+                low = i;
+            } else {
+                sortRows(rows, i, high, byName);
+                high = j;
+            }
+        }
+        for (int i = low + 1; i <= high; i++) {
+            int row = rows[i];
+            int j = i - 1;
+            while (j >= low && compareRows(rows[j], row, byName) > 0) {
+                rows[j + 1] = rows[j];
+                j--;
+            }
+            rows[j + 1] = row;
+        }
+    }
+    
+    /**
+     * Swap two entries of an int array
+     */
+    private static void swap(int[] array, int i, int j) {
+        int tmp = array[i];
+        array[i] = array[j];
+        array[j] = tmp;
+    }
+    
+    /**
+     * Dictionary assigning dense integer codes to category names while the catalog is built
+     */
+    private static class CategoryCodes {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+        
+        int codeOf(String category) {
+            Integer code = codes.get(category);
+            if (code == null) {
+                code = names.size();
+                codes.put(category, code);
+                names.add(category);
+            }
+            return code;
+        }
+        
+        String[] names() {
+            return names.toArray(new String[0]);
+        }
+    }
+}
\ No newline at end of file
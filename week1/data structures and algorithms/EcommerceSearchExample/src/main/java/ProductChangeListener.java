@@ -0,0 +1,22 @@
+/**
+ * ProductChangeListener interface notified after a product's price or description changes
+ * Lets indexes and caches built from Product objects stay in sync with setPrice and setDescription
+ */
+public interface ProductChangeListener {
+    
+    /**
+     * Called after Product.setPrice has stored the new price
+     * @param product Product that changed
+     * @param oldPrice Price before the change
+     */
+    default void priceChanged(Product product, double oldPrice) {
+    }
+    
+    /**
+     * Called after Product.setDescription has stored the new description
+     * @param product Product that changed
+     * @param oldDescription Description before the change
+     */
+    default void descriptionChanged(Product product, String oldDescription) {
+    }
+}
\ No newline at end of file
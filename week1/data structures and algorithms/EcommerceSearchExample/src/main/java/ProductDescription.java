@@ -0,0 +1,122 @@
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * ProductDescription class holding a product description as plain text or as deflate-compressed UTF-8
+ * The constructor is private, so Text and Compressed are the only kinds (a sealed type that still
+ * compiles on JDK 11); Product stores one of these instead of an untyped Object
+ */
+public abstract class ProductDescription {
+    
+    private ProductDescription() {
+    }
+    
+    /**
+     * Wrap plain text
+     * @param text Description text
+     * @return Holder for the text, or null if text is null
+     */
+    static ProductDescription of(String text) {
+        return text == null ? null : new Text(text);
+    }
+    
+    /**
+     * Deflate text
+     * @param text Description text
+     * @return Compressed holder
+     */
+    static Compressed compress(String text) {
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        deflater.setInput(utf8);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(utf8.length / 2 + 16);
+        byte[] buffer = new byte[Math.max(64, utf8.length)];
+        while (!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+        return new Compressed(out.toByteArray(), utf8.length);
+    }
+    
+    /**
+     * Get the description text
+     * @return Text (inflated on each call when compressed)
+     */
+    abstract String text();
+    
+    /**
+     * Description text
+     * @return Same as text()
+     */
+    @Override
+    public String toString() {
+        return text();
+    }
+    
+    /**
+     * Text class holding an uncompressed description
+     */
+    static final class Text extends ProductDescription {
+        private final String text;
+        
+        private Text(String text) {
+            this.text = text;
+        }
+        
+        @Override
+        String text() {
+            return text;
+        }
+    }
+    
+    /**
+     * Compressed class holding deflated UTF-8 text, decompressed on every read
+     */
+    static final class Compressed extends ProductDescription {
+        private final byte[] deflated;
+        private final int byteLength;
+        
+        private Compressed(byte[] deflated, int byteLength) {
+            this.deflated = deflated;
+            this.byteLength = byteLength;
+        }
+        
+        /**
+         * Get size of the compressed bytes
+         * @return Deflated length in bytes
+         */
+        int getDeflatedLength() {
+            return deflated.length;
+        }
+        
+        /**
+         * Inflate back to the original string
+         * @return Original text
+         */
+        @Override
+        String text() {
+            Inflater inflater = new Inflater(true);
+            try {
+                inflater.setInput(deflated);
+                byte[] utf8 = new byte[byteLength];
+                int length = 0;
+                while (length < byteLength && !inflater.finished()) {
+                    int inflated = inflater.inflate(utf8, length, byteLength - length);
+                    if (inflated == 0 && inflater.needsInput()) {
+                        break;
+                    }
+                    length += inflated;
+                }
+                return new String(utf8, 0, length, StandardCharsets.UTF_8);
+            } catch (DataFormatException e) {
+                throw new IllegalStateException("Corrupt compressed description", e);
+            } finally {
+                inflater.end();
+            }
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,208 @@
+/**
+ * ProductIdIndex class mapping product IDs to products with an open-addressing hash table
+ * Keys live in a primitive int[] next to a Product[] of values, so lookups never box or allocate
+ */
+public class ProductIdIndex {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final double MAX_LOAD_FACTOR = 0.6;
+    
+    private int[] keys;
+    private Product[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+    
+    /**
+     * Constructor for an empty ProductIdIndex
+     */
+    public ProductIdIndex() {
+        this(DEFAULT_CAPACITY);
+    }
+    
+    /**
+     * Constructor for ProductIdIndex sized to hold a number of products without resizing
+     * @param expectedSize Number of products the index should hold
+     */
+    public ProductIdIndex(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(DEFAULT_CAPACITY, (int) (expectedSize / MAX_LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+    
+    /**
+     * Build an index over an array of products
+     * Time Complexity: O(n)
+     * 
+     * @param products Products in any order
+     * @return Index containing every product (later duplicates of an ID replace earlier ones)
+     */
+    public static ProductIdIndex fromProducts(Product[] products) {
+        ProductIdIndex index = new ProductIdIndex(products.length);
+        for (Product product : products) {
+            index.put(product);
+        }
+        return index;
+    }
+    
+    /**
+     * Find a product by ID
+     * Time Complexity: O(1) expected
+     * 
+     * @param productId Product ID to search for
+     * @return Product if found, null otherwise
+     */
+    public Product get(int productId) {
+        int slot = hash(productId) & mask;
+        // A null value marks an empty slot, so every ID (including 0) can be a key
+        while (values[slot] != null) {
+            if (keys[slot] == productId) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+    
+    /**
+     * Check whether a product ID is in the index
+     * @param productId Product ID to search for
+     * @return True if the index holds a product with this ID
+     */
+    public boolean contains(int productId) {
+        return get(productId) != null;
+    }
+    
+    /**
+     * Insert a product, replacing any product already stored under the same ID
+     * Time Complexity: O(1) amortized
+     * 
+     * @param product Product to insert
+     * @return Product previously stored under this ID, or null
+     */
+    public Product put(Product product) {
+        if (product == null) {
+            throw new IllegalArgumentException("Product cannot be null");
+        }
+        int productId = product.getProductId();
+        int slot = hash(productId) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == productId) {
+                Product previous = values[slot];
+                values[slot] = product;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = productId;
+        values[slot] = product;
+        if (++size > resizeThreshold) {
+            resize(values.length << 1);
+        }
+        return null;
+    }
+    
+    /**
+     * Remove a product by ID
+     * Uses backward-shift deletion, so no tombstones pile up under insert/remove churn
+     * Time Complexity: O(1) expected
+     * 
+     * @param productId Product ID to remove
+     * @return Removed product, or null if the ID was not present
+     */
+    public Product remove(int productId) {
+        int slot = hash(productId) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == productId) {
+                Product removed = values[slot];
+                shiftBack(slot);
+                size--;
+                return removed;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+    
+    /**
+     * Get number of products in the index
+     * @return Number of products
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Get number of slots in the table
+     * @return Table capacity (always a power of two)
+     */
+    public int capacity() {
+        return values.length;
+    }
+    
+    /**
+     * Close the gap left by a removed entry by moving later entries of the same probe run back
+     * @param gap Slot that has just been emptied
+     */
+    private void shiftBack(int gap) {
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (values[slot] == null) {
+                break;
+            }
+            int home = hash(keys[slot]) & mask;
+            // Move the entry only if its home slot is not between the gap and its current slot
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        values[gap] = null;
+    }
+    
+    /**
+     * Rehash every entry into a larger table
+     * @param newCapacity New table capacity (power of two)
+     */
+    private void resize(int newCapacity) {
+        int[] oldKeys = keys;
+        Product[] oldValues = values;
+        allocate(newCapacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+    
+    /**
+     * Allocate empty key and value arrays
+     * @param capacity Table capacity (power of two)
+     */
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Product[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * MAX_LOAD_FACTOR);
+    }
+    
+    /**
+     * Scramble an ID so that sequential IDs (1001, 1002, ...) spread across the table
+     * @param productId Product ID
+     * @return Mixed hash (MurmurHash3 finalizer)
+     */
+    private static int hash(int productId) {
+        int h = productId;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
\ No newline at end of file
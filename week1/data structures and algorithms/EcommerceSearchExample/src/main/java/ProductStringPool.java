@@ -0,0 +1,227 @@
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ProductStringPool class sharing the strings of many products so each distinct value is stored once
+ * Categories, names and descriptions are interned: every product holding an equal value gets the same
+ * instance, and long descriptions can optionally be kept deflate-compressed until getDescription is called
+ * Each category also gets a dense code (categoryCode / categoryName) for callers that store codes themselves
+ * The pool is only needed while products are added; pooled products keep working after it is dropped
+ */
+public class ProductStringPool {
+    /** Descriptions shorter than this stay uncompressed; deflate cannot shrink very short text */
+    public static final int MIN_COMPRESSED_LENGTH = 64;
+    
+    private final boolean compressDescriptions;
+    private final Map<String, Integer> categoryCodes = new HashMap<>();
+    private final List<String> categoryNames = new ArrayList<>();
+    private final Map<String, String> names = new HashMap<>();
+    private final Map<String, ProductDescription> descriptions = new HashMap<>();
+    
+    /**
+     * Constructor for ProductStringPool
+     * @param compressDescriptions True to store long descriptions deflate-compressed
+     */
+    public ProductStringPool(boolean compressDescriptions) {
+        this.compressDescriptions = compressDescriptions;
+    }
+    
+    /**
+     * Build a product equal to the given one whose strings are the pool's shared instances
+     * Time Complexity: O(length of the strings) for the hash lookups
+     * 
+     * @param product Product to pool
+     * @return New Product with pooled name, category and description
+     */
+    public synchronized Product pool(Product product) {
+        String category = categoryName(categoryCode(product.getCategory()));
+        String name = names.computeIfAbsent(product.getProductName(), n -> n);
+        ProductDescription description = descriptions.computeIfAbsent(product.getDescription(), this::storeDescription);
+        return Product.withDescription(product.getProductId(), name, category, product.getPrice(), description);
+    }
+    
+    /**
+     * Pool every product of an array
+     * @param products Products to pool
+     * @return New array of pooled products in the same order
+     */
+    public Product[] poolAll(Product[] products) {
+        Product[] pooled = new Product[products.length];
+        for (int i = 0; i < products.length; i++) {
+            pooled[i] = pool(products[i]);
+        }
+        return pooled;
+    }
+    
+    /**
+     * Get the dictionary code of a category, assigning the next code to a new category
+     * @param category Category name
+     * @return Dense code starting at 0
+     */
+    public synchronized int categoryCode(String category) {
+        Integer code = categoryCodes.get(category);
+        if (code == null) {
+            code = categoryNames.size();
+            categoryCodes.put(category, code);
+            categoryNames.add(category);
+        }
+        return code;
+    }
+    
+    /**
+     * Get the canonical category string for a code
+     * @param code Code returned by categoryCode
+     * @return Category name
+     */
+    public synchronized String categoryName(int code) {
+        return categoryNames.get(code);
+    }
+    
+    /**
+     * Get number of distinct categories
+     * @return Category count
+     */
+    public synchronized int getCategoryCount() {
+        return categoryNames.size();
+    }
+    
+    /**
+     * Get number of distinct names stored
+     * @return Name count
+     */
+    public synchronized int getDistinctNameCount() {
+        return names.size();
+    }
+    
+    /**
+     * Get number of distinct descriptions stored
+     * @return Description count
+     */
+    public synchronized int getDistinctDescriptionCount() {
+        return descriptions.size();
+    }
+    
+    /**
+     * Estimate heap retained by products, counting each shared object once
+     * Uses a 64-bit JVM with compressed references and compact (Latin-1) strings
+     * The pool's own hash maps are not counted, because the pool can be dropped after loading
+     * 
+     * @param products Products to measure
+     * @return Estimated bytes per product
+     */
+    public static double estimateBytesPerProduct(Product[] products) {
+        if (products.length == 0) {
+            return 0;
+        }
+        Map<Object, Boolean> seen = new IdentityHashMap<>();
+        // Product header (12) + int + double + four references, padded to 8 bytes
+        long bytes = (long) products.length * 40 + arrayBytes(products.length, 4);
+        for (Product product : products) {
+            bytes += stringBytes(product.getProductName(), seen) + stringBytes(product.getCategory(), seen);
+            ProductDescription description = product.getDescriptionData();
+            if (description == null || seen.put(description, Boolean.TRUE) != null) {
+                continue;
+            }
+            if (description instanceof ProductDescription.Compressed) {
+                // Holder header + reference + int, then the deflated bytes
+                bytes += 24 + arrayBytes(((ProductDescription.Compressed) description).getDeflatedLength(), 1);
+            } else {
+                // Holder header + reference, then the String
+                bytes += 16 + stringBytes(description.text(), seen);
+            }
+        }
+        return (double) bytes / products.length;
+    }
+    
+    /**
+     * Print estimated and measured heap per product for plain, pooled and compressed catalogs
+     * Usage: java ProductStringPool [count] (measurement is most stable with a fixed heap, e.g. -Xms2g -Xmx2g)
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0].replace("_", "")) : 1_000_000;
+        
+        System.out.println("=== HEAP PER PRODUCT (" + String.format("%,d", count) + " generated products) ===");
+        System.out.printf("%-28s %14s %14s%n", "Storage", "Estimated (B)", "Measured (B)");
+        System.out.println("-".repeat(58));
+        
+        printFootprint("Plain Product strings", count, -1);
+        printFootprint("Pooled", count, 0);
+        printFootprint("Pooled + compressed", count, 1);
+        System.out.println("-".repeat(58));
+        System.out.println("Measured = heap freed by GC when the catalog is dropped (the pool is already gone)");
+    }
+    
+    /**
+     * Generate a catalog in one storage mode and print its estimated and measured footprint
+     * Measured = heap released when the catalog becomes unreachable, which is not thrown off
+     * by whatever earlier modes left behind
+     * 
+     * @param mode -1 for plain products, 0 for pooled, 1 for pooled with compression
+     */
+    private static void printFootprint(String label, int count, int mode) {
+        CatalogGenerator generator = new CatalogGenerator(42);
+        Product[] products;
+        if (mode < 0) {
+            products = generator.generateArray(count);
+        } else {
+            // Pool straight from the generator so no plain copy of the strings stays reachable
+            ProductStringPool pool = new ProductStringPool(mode > 0);
+            products = new Product[count];
+            for (int i = 0; i < count; i++) {
+                products[i] = pool.pool(generator.generate(i));
+            }
+        }
+        double estimated = estimateBytesPerProduct(products);
+        long withCatalog = usedHeap();
+        Reference.reachabilityFence(products);
+        products = null;
+        long measured = withCatalog - usedHeap();
+        System.out.printf("%-28s %14.1f %14.1f%n", label, estimated, (double) measured / count);
+    }
+    
+    /**
+     * Decide how a new distinct description is stored
+     */
+    private ProductDescription storeDescription(String description) {
+        if (compressDescriptions && description != null && description.length() >= MIN_COMPRESSED_LENGTH) {
+            ProductDescription.Compressed compressed = ProductDescription.compress(description);
+            if (compressed.getDeflatedLength() < description.length()) {
+                return compressed;
+            }
+        }
+        return ProductDescription.of(description);
+    }
+    
+    /**
+     * Size of a String: 24-byte object plus its byte[] (1 byte per char if Latin-1, else 2)
+     */
+    private static long stringBytes(String value, Map<Object, Boolean> seen) {
+        if (value == null || seen.put(value, Boolean.TRUE) != null) {
+            return 0;
+        }
+        boolean latin1 = true;
+        for (int i = 0; i < value.length() && latin1; i++) {
+            latin1 = value.charAt(i) < 256;
+        }
+        return 24 + arrayBytes(value.length(), latin1 ? 1 : 2);
+    }
+    
+    /**
+     * Size of a Java array with a 16-byte header, rounded up to 8 bytes
+     */
+    private static long arrayBytes(int length, int elementBytes) {
+        return (16 + (long) length * elementBytes + 7) & ~7L;
+    }
+    
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,508 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * QueryCache class keeping the results of recent searches so popular queries are not recomputed
+ * Entries are kept in an access-ordered LinkedHashMap and the least recently used ones are evicted
+ * once the estimated size passes a byte limit
+ * Registered with addChangeListener on every product of the catalog it caches, it drops every cached
+ * result a price or description change could affect, so a hit always equals what the search would return now
+ */
+public class QueryCache implements ProductChangeListener {
+    private final long maxBytes;
+    private final LinkedHashMap<Query, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // Reverse index used for invalidation: product ID -> cached queries whose results contain it
+    private final Map<Integer, Set<Query>> queriesByProduct = new HashMap<>();
+    private final Set<Query> filterQueries = new HashSet<>();
+    private long bytes;
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+    
+    /**
+     * Constructor for QueryCache
+     * @param maxBytes Limit on the estimated size of the cached entries (the Products are shared, not counted)
+     */
+    public QueryCache(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+    }
+    
+    /**
+     * Get cached results, or run the search and cache what it returns
+     * The search runs without holding the lock; if a product changes meanwhile its results are
+     * returned but not cached, because they may already be stale
+     * Time Complexity: O(k) on a hit for k results, otherwise the cost of the search
+     * 
+     * @param query Normalized query
+     * @param search Search to run on a miss
+     * @return Results (a copy the caller may modify)
+     */
+    public Product[] get(Query query, Supplier<Product[]> search) {
+        long searchedAt;
+        synchronized (this) {
+            Entry entry = entries.get(query);
+            if (entry != null) {
+                hits++;
+                return entry.results.clone();
+            }
+            misses++;
+            searchedAt = generation;
+        }
+        Product[] results = search.get();
+        synchronized (this) {
+            if (generation == searchedAt) {
+                put(query, results.clone());
+            }
+        }
+        return results;
+    }
+    
+    /**
+     * Get cached results without searching
+     * @param query Normalized query
+     * @return Copy of the cached results, or null if not cached
+     */
+    public synchronized Product[] getIfPresent(Query query) {
+        Entry entry = entries.get(query);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.results.clone();
+    }
+    
+    /**
+     * Drop cached results that contain a product whose price changed, or filters it now matches
+     * @param product Product that changed
+     * @param oldPrice Price before the change
+     */
+    @Override
+    public synchronized void priceChanged(Product product, double oldPrice) {
+        generation++;
+        List<Query> stale = new ArrayList<>();
+        Set<Query> containing = queriesByProduct.get(product.getProductId());
+        if (containing != null) {
+            stale.addAll(containing);
+        }
+        for (Query query : filterQueries) {
+            if (query.matches(product) && (containing == null || !containing.contains(query))) {
+                stale.add(query);
+            }
+        }
+        invalidate(stale);
+    }
+    
+    /**
+     * Drop cached results that contain a product whose description changed
+     * @param product Product that changed
+     * @param oldDescription Description before the change
+     */
+    @Override
+    public synchronized void descriptionChanged(Product product, String oldDescription) {
+        generation++;
+        Set<Query> containing = queriesByProduct.get(product.getProductId());
+        if (containing != null) {
+            invalidate(new ArrayList<>(containing));
+        }
+    }
+    
+    /**
+     * Remove every entry (statistics are kept)
+     */
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+        queriesByProduct.clear();
+        filterQueries.clear();
+        bytes = 0;
+    }
+    
+    /**
+     * Get number of cached queries
+     * @return Entry count
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+    
+    /**
+     * Get estimated size of the cached entries
+     * @return Bytes, never above the limit
+     */
+    public synchronized long getSizeInBytes() {
+        return bytes;
+    }
+    
+    /**
+     * Get the byte limit
+     * @return Maximum bytes
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+    
+    /**
+     * Get number of lookups answered from the cache
+     * @return Hit count
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+    
+    /**
+     * Get number of lookups that had to search
+     * @return Miss count
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+    
+    /**
+     * Get fraction of lookups answered from the cache
+     * @return Hit ratio between 0 and 1 (0 before the first lookup)
+     */
+    public synchronized double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+    
+    /**
+     * Get number of entries evicted to stay under the byte limit
+     * @return Eviction count
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+    
+    /**
+     * Get number of entries dropped because a product changed
+     * @return Invalidation count
+     */
+    public synchronized long getInvalidations() {
+        return invalidations;
+    }
+    
+    @Override
+    public synchronized String toString() {
+        return String.format("QueryCache{entries=%,d, bytes=%,d/%,d, hits=%,d, misses=%,d, hitRatio=%.1f%%, "
+                             + "evictions=%,d, invalidations=%,d}",
+                             entries.size(), bytes, maxBytes, hits, misses, 100 * getHitRatio(),
+                             evictions, invalidations);
+    }
+    
+    /**
+     * Store results and evict least recently used entries until the cache fits its limit again
+     */
+    private void put(Query query, Product[] results) {
+        Entry entry = new Entry(results, estimateBytes(query, results));
+        if (entry.bytes > maxBytes) {
+            return;
+        }
+        remove(query);
+        entries.put(query, entry);
+        bytes += entry.bytes;
+        for (Product product : results) {
+            queriesByProduct.computeIfAbsent(product.getProductId(), id -> new HashSet<>()).add(query);
+        }
+        if (query.kind == Kind.FILTER) {
+            filterQueries.add(query);
+        }
+        Iterator<Map.Entry<Query, Entry>> eldest = entries.entrySet().iterator();
+        while (bytes > maxBytes) {
+            Map.Entry<Query, Entry> victim = eldest.next();
+            eldest.remove();
+            unlink(victim.getKey(), victim.getValue());
+            evictions++;
+        }
+    }
+    
+    private void invalidate(List<Query> stale) {
+        for (Query query : stale) {
+            if (remove(query)) {
+                invalidations++;
+            }
+        }
+    }
+    
+    private boolean remove(Query query) {
+        Entry entry = entries.remove(query);
+        if (entry == null) {
+            return false;
+        }
+        unlink(query, entry);
+        return true;
+    }
+    
+    /**
+     * Take an entry that has left the map out of the byte count and the reverse indexes
+     */
+    private void unlink(Query query, Entry entry) {
+        bytes -= entry.bytes;
+        for (Product product : entry.results) {
+            Set<Query> queries = queriesByProduct.get(product.getProductId());
+            if (queries != null && queries.remove(query) && queries.isEmpty()) {
+                queriesByProduct.remove(product.getProductId());
+            }
+        }
+        filterQueries.remove(query);
+    }
+    
+    /**
+     * Estimate the heap an entry adds: key, map entry, result array and one reverse index link per result
+     * Uses a 64-bit JVM with compressed references and compact (Latin-1) strings
+     */
+    private static long estimateBytes(Query query, Product[] results) {
+        long keyBytes = 40 + (query.text == null ? 0 : 24 + ((16 + query.text.length() + 7) & ~7L));
+        long arrayBytes = (16 + 4L * results.length + 7) & ~7L;
+        // LinkedHashMap entry (40) + Entry holder (24) + ~48 per reverse index link
+        return keyBytes + 40 + 24 + arrayBytes + 48L * results.length;
+    }
+    
+    /**
+     * Compare an uncached and a cached search mix with Zipf-distributed queries and live price updates
+     * Usage: java QueryCache [products] [queries] [cacheKilobytes]
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0].replace("_", "")) : 100_000;
+        int queryCount = args.length > 1 ? Integer.parseInt(args[1].replace("_", "")) : 20_000;
+        long cacheBytes = (args.length > 2 ? Long.parseLong(args[2].replace("_", "")) : 1024) * 1024;
+        
+        SearchAlgorithms.setVerbose(false);
+        Product[] products = SearchAlgorithms.generateSampleProducts(count, 42);
+        Product[] byId = products.clone();
+        SearchAlgorithms.sortProductsById(byId);
+        Product[] byName = products.clone();
+        SearchAlgorithms.sortProductsByName(byName);
+        
+        // 10,000 distinct queries (ID, name and category/price filters), drawn Zipf-distributed
+        Random random = new Random(7);
+        String[] categories = {"Electronics", "Clothing", "Home", "Books", "Sports", "Toys", "Beauty", "Grocery"};
+        Query[] pool = new Query[10_000];
+        for (int i = 0; i < pool.length; i++) {
+            Product product = products[random.nextInt(count)];
+            switch (i % 4) {
+                case 0:
+                    pool[i] = Query.byId(product.getProductId());
+                    break;
+                case 1:
+                    double low = random.nextInt(20) * 10;
+                    pool[i] = Query.byFilter(categories[random.nextInt(categories.length)], low, low + 100);
+                    break;
+                default:
+                    pool[i] = Query.byName(product.getProductName().toUpperCase(Locale.ROOT));
+            }
+        }
+        int[] workload = new int[queryCount];
+        for (int i = 0; i < queryCount; i++) {
+            workload[i] = (int) Math.min(pool.length - 1, Math.pow(pool.length + 1.0, random.nextDouble()) - 1);
+        }
+        
+        QueryCache cache = new QueryCache(cacheBytes);
+        for (Product product : products) {
+            product.addChangeListener(cache);
+        }
+        try {
+            long uncachedNanos = 0;
+            long cachedNanos = 0;
+            int stale = 0;
+            for (int i = 0; i < queryCount; i++) {
+                // One price change per 100 queries
+                if (i % 100 == 0) {
+                    Product product = products[random.nextInt(count)];
+                    product.setPrice(Math.floor(product.getPrice() * (0.8 + 0.4 * random.nextDouble())) + 0.99);
+                }
+                Query query = pool[workload[i]];
+                long start = System.nanoTime();
+                Product[] fresh = query.search(byId, byName, products);
+                uncachedNanos += System.nanoTime() - start;
+                start = System.nanoTime();
+                Product[] cached = cache.get(query, () -> query.search(byId, byName, products));
+                cachedNanos += System.nanoTime() - start;
+                if (!Arrays.equals(fresh, cached)) {
+                    stale++;
+                }
+            }
+            
+            System.out.println("=== QUERY CACHE (" + String.format("%,d", count) + " products, "
+                               + String.format("%,d", queryCount) + " Zipf queries, 1 price change per 100) ===");
+            System.out.printf("Uncached: %8.1f ms%n", uncachedNanos / 1e6);
+            System.out.printf("Cached:   %8.1f ms%n", cachedNanos / 1e6);
+            System.out.println(cache);
+            System.out.println((stale == 0 ? "✓" : "✗") + " Cached results differing from a fresh search: " + stale);
+        } finally {
+            for (Product product : products) {
+                product.removeChangeListener(cache);
+            }
+            SearchAlgorithms.setVerbose(true);
+        }
+    }
+    
+    /**
+     * Kinds of cached query
+     */
+    public enum Kind {
+        ID, NAME, FILTER
+    }
+    
+    /**
+     * Query class used as a cache key, normalized so equivalent searches share one entry
+     * (names and categories are trimmed, lower-cased and have runs of spaces collapsed)
+     */
+    public static final class Query {
+        private final Kind kind;
+        private final int productId;
+        private final String text;
+        private final double minPrice;
+        private final double maxPrice;
+        
+        private Query(Kind kind, int productId, String text, double minPrice, double maxPrice) {
+            this.kind = kind;
+            this.productId = productId;
+            this.text = text;
+            this.minPrice = minPrice;
+            this.maxPrice = maxPrice;
+        }
+        
+        /**
+         * Create a lookup by product ID
+         * @param productId Product ID
+         * @return Query
+         */
+        public static Query byId(int productId) {
+            return new Query(Kind.ID, productId, null, 0, 0);
+        }
+        
+        /**
+         * Create a lookup by product name (case-insensitive, like binarySearchByName)
+         * @param productName Product name
+         * @return Query
+         */
+        public static Query byName(String productName) {
+            return new Query(Kind.NAME, 0, normalize(productName), 0, 0);
+        }
+        
+        /**
+         * Create a category and price range filter; its results are the cheapest matching products
+         * @param category Category name, or null for all categories
+         * @param minPrice Smallest price to include
+         * @param maxPrice Largest price to include
+         * @return Query
+         * @throws IllegalArgumentException If minPrice > maxPrice
+         */
+        public static Query byFilter(String category, double minPrice, double maxPrice) {
+            if (!(minPrice <= maxPrice)) {
+                throw new IllegalArgumentException("Invalid price range: " + minPrice + " - " + maxPrice);
+            }
+            return new Query(Kind.FILTER, 0, category == null ? null : normalize(category), minPrice, maxPrice);
+        }
+        
+        /**
+         * Run the query with SearchAlgorithms
+         * @param productsById Products sorted by ID
+         * @param productsByName Products sorted by name
+         * @param products Products in any order (scanned by filters)
+         * @return Results: the product for an ID or name (empty if none), the 20 cheapest matches for a filter
+         */
+        public Product[] search(Product[] productsById, Product[] productsByName, Product[] products) {
+            Product product;
+            switch (kind) {
+                case ID:
+                    product = SearchAlgorithms.binarySearch(productsById, productId);
+                    break;
+                case NAME:
+                    product = SearchAlgorithms.binarySearchByName(productsByName, text);
+                    break;
+                default:
+                    return SearchAlgorithms.topK(products, this::matches, 20, SearchAlgorithms.BY_PRICE);
+            }
+            return product == null ? new Product[0] : new Product[] {product};
+        }
+        
+        /**
+         * Check whether a product passes a filter query (always false for ID and name queries)
+         * @param product Product to test
+         * @return True if the product is in the category and price range
+         */
+        public boolean matches(Product product) {
+            return kind == Kind.FILTER
+                   && (text == null || product.getCategory().equalsIgnoreCase(text))
+                   && product.getPrice() >= minPrice && product.getPrice() <= maxPrice;
+        }
+        
+        /**
+         * Get the query kind
+         * @return Kind
+         */
+        public Kind getKind() {
+            return kind;
+        }
+        
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Query)) {
+                return false;
+            }
+            Query query = (Query) other;
+            return kind == query.kind && productId == query.productId
+                   && (text == null ? query.text == null : text.equals(query.text))
+                   && Double.compare(minPrice, query.minPrice) == 0
+                   && Double.compare(maxPrice, query.maxPrice) == 0;
+        }
+        
+        @Override
+        public int hashCode() {
+            int hash = kind.hashCode() * 31 + productId;
+            hash = hash * 31 + (text == null ? 0 : text.hashCode());
+            hash = hash * 31 + Double.hashCode(minPrice);
+            return hash * 31 + Double.hashCode(maxPrice);
+        }
+        
+        @Override
+        public String toString() {
+            switch (kind) {
+                case ID:
+                    return "id:" + productId;
+                case NAME:
+                    return "name:" + text;
+                default:
+                    return "filter:" + (text == null ? "*" : text) + ":" + minPrice + "-" + maxPrice;
+            }
+        }
+        
+        private static String normalize(String value) {
+            return value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        }
+    }
+    
+    /**
+     * Cached results with their estimated size
+     */
+    private static final class Entry {
+        private final Product[] results;
+        private final long bytes;
+        
+        private Entry(Product[] results, long bytes) {
+            this.results = results;
+            this.bytes = bytes;
+        }
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,210 @@
+import java.util.Arrays;
+
+/**
+ * RoaringBitmap class storing a set of non-negative ints split into 65,536-value chunks
+ * Sparse chunks are sorted char arrays and dense chunks are 8 KB bitsets, so both stay compact
+ * Built by appending values in increasing order; immutable afterwards
+ */
+public class RoaringBitmap {
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int BITMAP_WORDS = 1024;
+    
+    private char[] keys = new char[4];
+    private Object[] containers = new Object[4];
+    private int[] cardinalities = new int[4];
+    private int[] cumulative = new int[5];
+    private int containerCount;
+    private long last = -1;
+    
+    /**
+     * Append a value larger than every value added so far
+     * @param value Non-negative value
+     */
+    public void add(int value) {
+        if (value <= last) {
+            throw new IllegalArgumentException("Values must be added in increasing order: " + value);
+        }
+        last = value;
+        char key = (char) (value >>> 16);
+        char low = (char) value;
+        if (containerCount == 0 || keys[containerCount - 1] != key) {
+            if (containerCount == keys.length) {
+                grow();
+            }
+            keys[containerCount] = key;
+            containers[containerCount] = new char[8];
+            cardinalities[containerCount] = 0;
+            containerCount++;
+        }
+        int index = containerCount - 1;
+        int count = cardinalities[index];
+        Object container = containers[index];
+        if (container instanceof char[]) {
+            char[] values = (char[]) container;
+            if (count < ARRAY_LIMIT) {
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, count * 2));
+                    containers[index] = values;
+                }
+                values[count] = low;
+            } else {
+                // Past 4096 values a bitset is smaller than the array, so convert
+                long[] words = new long[BITMAP_WORDS];
+                for (int i = 0; i < count; i++) {
+                    words[values[i] >>> 6] |= 1L << values[i];
+                }
+                words[low >>> 6] |= 1L << low;
+                containers[index] = words;
+            }
+        } else {
+            long[] words = (long[]) container;
+            words[low >>> 6] |= 1L << low;
+        }
+        cardinalities[index] = count + 1;
+        cumulative[index + 1] = cumulative[index] + count + 1;
+    }
+    
+    /**
+     * Get number of values in the set
+     * @return Cardinality
+     */
+    public int cardinality() {
+        return cumulative[containerCount];
+    }
+    
+    /**
+     * Check whether a value is in the set
+     * @param value Value to test
+     * @return True if present
+     */
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int index = findContainer((char) (value >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        char low = (char) value;
+        Object container = containers[index];
+        if (container instanceof char[]) {
+            return Arrays.binarySearch((char[]) container, 0, cardinalities[index], low) >= 0;
+        }
+        return (((long[]) container)[low >>> 6] & (1L << low)) != 0;
+    }
+    
+    /**
+     * Count values strictly smaller than a bound
+     * Time Complexity: O(log c + 1024) where c is the number of chunks
+     * 
+     * @param bound Exclusive upper bound
+     * @return Number of values below the bound
+     */
+    public int rank(int bound) {
+        if (bound <= 0) {
+            return 0;
+        }
+        char key = (char) (bound >>> 16);
+        int index = findContainer(key);
+        if (index < 0) {
+            // No chunk for this key: every chunk before the insertion point is entirely below the bound
+            return cumulative[-index - 1];
+        }
+        char low = (char) bound;
+        Object container = containers[index];
+        int below;
+        if (container instanceof char[]) {
+            int position = Arrays.binarySearch((char[]) container, 0, cardinalities[index], low);
+            below = position >= 0 ? position : -position - 1;
+        } else {
+            long[] words = (long[]) container;
+            below = 0;
+            int word = low >>> 6;
+            for (int i = 0; i < word; i++) {
+                below += Long.bitCount(words[i]);
+            }
+            below += Long.bitCount(words[word] & ((1L << low) - 1));
+        }
+        return cumulative[index] + below;
+    }
+    
+    /**
+     * Count values in a half-open range
+     * @param from Inclusive lower bound
+     * @param to Exclusive upper bound
+     * @return Number of values in [from, to)
+     */
+    public int rangeCardinality(int from, int to) {
+        return to <= from ? 0 : rank(to) - rank(from);
+    }
+    
+    /**
+     * Find the value with a given rank (0 = smallest)
+     * Time Complexity: O(log c + 1024)
+     * 
+     * @param rank Zero-based position in ascending order
+     * @return Value at that position
+     */
+    public int select(int rank) {
+        if (rank < 0 || rank >= cardinality()) {
+            throw new IndexOutOfBoundsException("Rank " + rank + " outside 0.." + (cardinality() - 1));
+        }
+        // Last chunk whose cumulative count is <= rank
+        int left = 0;
+        int right = containerCount - 1;
+        while (left < right) {
+            int mid = (left + right + 1) >>> 1;
+            if (cumulative[mid] <= rank) {
+                left = mid;
+            } else {
+                right = mid - 1;
+            }
+        }
+        int remaining = rank - cumulative[left];
+        int high = keys[left] << 16;
+        Object container = containers[left];
+        if (container instanceof char[]) {
+            return high | ((char[]) container)[remaining];
+        }
+        long[] words = (long[]) container;
+        for (int word = 0; ; word++) {
+            int bits = Long.bitCount(words[word]);
+            if (remaining < bits) {
+                long w = words[word];
+                for (int i = 0; i < remaining; i++) {
+                    w &= w - 1;
+                }
+                return high | (word << 6) | Long.numberOfTrailingZeros(w);
+            }
+            remaining -= bits;
+        }
+    }
+    
+    /**
+     * Estimate heap used by the bitmap
+     * @return Approximate bytes
+     */
+    public long estimateMemoryBytes() {
+        long bytes = 64 + 2L * keys.length + 4L * containers.length + 4L * cardinalities.length + 4L * cumulative.length;
+        for (int i = 0; i < containerCount; i++) {
+            bytes += 16 + (containers[i] instanceof char[] ? 2L * ((char[]) containers[i]).length : 8L * BITMAP_WORDS);
+        }
+        return bytes;
+    }
+    
+    /**
+     * Binary search the chunk keys
+     * @return Chunk index, or -(insertion point) - 1
+     */
+    private int findContainer(char key) {
+        return Arrays.binarySearch(keys, 0, containerCount, key);
+    }
+    
+    private void grow() {
+        int capacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, capacity);
+        containers = Arrays.copyOf(containers, capacity);
+        cardinalities = Arrays.copyOf(cardinalities, capacity);
+        cumulative = Arrays.copyOf(cumulative, capacity + 1);
+    }
+}
\ No newline at end of file
@@ -1,10 +1,52 @@
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.Predicate;
 
 /**
  * SearchAlgorithms class implementing linear and binary search for e-commerce products
  * Demonstrates different search strategies and their performance characteristics
  */
 public class SearchAlgorithms {
+    private static final SearchMetrics.Operation LINEAR_SEARCH = SearchMetrics.operation("linearSearch");
+    private static final SearchMetrics.Operation BINARY_SEARCH = SearchMetrics.operation("binarySearch");
+    private static final SearchMetrics.Operation INTERPOLATION_SEARCH = SearchMetrics.operation("interpolationSearch");
+    private static final SearchMetrics.Operation EXPONENTIAL_SEARCH = SearchMetrics.operation("exponentialSearch");
+    private static final SearchMetrics.Operation HYBRID_SEARCH = SearchMetrics.operation("hybridSearch");
+    private static final SearchMetrics.Operation COLUMNAR_LINEAR_SEARCH = SearchMetrics.operation("linearSearch (columnar)");
+    private static final SearchMetrics.Operation COLUMNAR_BINARY_SEARCH = SearchMetrics.operation("binarySearch (columnar)");
+    private static final SearchMetrics.Operation EYTZINGER_SEARCH = SearchMetrics.operation("eytzingerSearch");
+    private static final SearchMetrics.Operation HASH_SEARCH = SearchMetrics.operation("hashSearch");
+    private static final SearchMetrics.Operation MAPPED_SEARCH = SearchMetrics.operation("mappedSearch");
+    private static final SearchMetrics.Operation BATCH_BINARY_SEARCH = SearchMetrics.operation("batchBinarySearch");
+    private static final SearchMetrics.Operation COLUMNAR_BATCH_BINARY_SEARCH = SearchMetrics.operation("batchBinarySearch (columnar)");
+    private static final SearchMetrics.Operation BINARY_SEARCH_BY_NAME = SearchMetrics.operation("binarySearchByName");
+    private static final SearchMetrics.Operation FUZZY_SEARCH_BY_NAME = SearchMetrics.operation("fuzzySearchByName");
+    
+    /** Cheapest first, ties broken by product ID */
+    public static final Comparator<Product> BY_PRICE =
+        Comparator.comparingDouble(Product::getPrice).thenComparingInt(Product::getProductId);
+    
+    // Printing is on by default for the walkthrough; quiet mode only records into SearchMetrics
+    private static volatile boolean verbose = true;
+    
+    /**
+     * Turn per-search console output on or off
+     * Quiet mode avoids string building and the PrintStream lock on the search path;
+     * statistics are still recorded in SearchMetrics either way
+     * 
+     * @param enabled True to print each search, false for quiet mode
+     */
+    public static void setVerbose(boolean enabled) {
+        verbose = enabled;
+    }
+    
+    /**
+     * Check whether searches print their progress
+     * @return True in verbose mode
+     */
+    public static boolean isVerbose() {
+        return verbose;
+    }
     
     /**
      * Linear Search Algorithm
@@ -16,19 +58,20 @@ public class SearchAlgorithms {
      * @return Product if found, null otherwise
      */
     public static Product linearSearch(Product[] products, int targetId) {
-        System.out.println("Performing Linear Search for Product ID: " + targetId);
+        if (verbose) {
+            System.out.println("Performing Linear Search for Product ID: " + targetId);
+        }
+        long startNanos = System.nanoTime();
         int comparisons = 0;
         
         for (int i = 0; i < products.length; i++) {
             comparisons++;
             if (products[i].getProductId() == targetId) {
-                System.out.println("✓ Product found after " + comparisons + " comparisons");
-                return products[i];
+                return found(LINEAR_SEARCH, startNanos, comparisons, products[i]);
             }
         }
         
-        System.out.println("✗ Product not found after " + comparisons + " comparisons");
-        return null;
+        return notFound(LINEAR_SEARCH, startNanos, comparisons);
     }
     
     /**
@@ -41,7 +84,10 @@ public class SearchAlgorithms {
      * @return Product if found, null otherwise
      */
     public static Product binarySearch(Product[] products, int targetId) {
-        System.out.println("Performing Binary Search for Product ID: " + targetId);
+        if (verbose) {
+            System.out.println("Performing Binary Search for Product ID: " + targetId);
+        }
+        long startNanos = System.nanoTime();
         int comparisons = 0;
         int left = 0;
         int right = products.length - 1;
@@ -52,8 +98,7 @@ public class SearchAlgorithms {
             int currentId = products[mid].getProductId();
             
             if (currentId == targetId) {
-                System.out.println("✓ Product found after " + comparisons + " comparisons");
-                return products[mid];
+                return found(BINARY_SEARCH, startNanos, comparisons, products[mid]);
             } else if (currentId < targetId) {
                 left = mid + 1;
             } else {
@@ -61,8 +106,415 @@ public class SearchAlgorithms {
             }
         }
         
-        System.out.println("✗ Product not found after " + comparisons + " comparisons");
-        return null;
+        return notFound(BINARY_SEARCH, startNanos, comparisons);
+    }
+    
+    /**
+     * Interpolation Search (requires array sorted by ID)
+     * Probes where the target should be if IDs were spread evenly between the two ends of the range,
+     * like opening a phone book near "S" rather than in the middle
+     * Time Complexity: O(log log n) on evenly spread IDs, O(n) worst case on skewed IDs
+     * 
+     * @param products Sorted array of products to search in
+     * @param targetId Product ID to search for
+     * @return Product if found, null otherwise
+     */
+    public static Product interpolationSearch(Product[] products, int targetId) {
+        if (verbose) {
+            System.out.println("Performing Interpolation Search for Product ID: " + targetId);
+        }
+        long startNanos = System.nanoTime();
+        int comparisons = 0;
+        int left = 0;
+        int right = products.length - 1;
+        // The IDs at both ends are read once and again only when that end moves; each read is counted
+        int lowId = 0;
+        int highId = 0;
+        if (right >= 0) {
+            lowId = products[left].getProductId();
+            highId = products[right].getProductId();
+            comparisons += 2;
+        }
+        
+        while (left <= right && targetId >= lowId && targetId <= highId) {
+            comparisons++;
+            int mid = interpolate(left, right, lowId, highId, targetId);
+            int currentId = products[mid].getProductId();
+            
+            if (currentId == targetId) {
+                return found(INTERPOLATION_SEARCH, startNanos, comparisons, products[mid]);
+            } else if (currentId < targetId) {
+                left = mid + 1;
+                if (left <= right) {
+                    lowId = products[left].getProductId();
+                    comparisons++;
+                }
+            } else {
+                right = mid - 1;
+                if (left <= right) {
+                    highId = products[right].getProductId();
+                    comparisons++;
+                }
+            }
+        }
+        
+        return notFound(INTERPOLATION_SEARCH, startNanos, comparisons);
+    }
+    
+    /**
+     * Exponential (Galloping) Search (requires array sorted by ID)
+     * Doubles a bound from the start until it passes the target, then binary searches the last step
+     * Time Complexity: O(log i) where i is the target's position - fast for IDs near the front
+     * 
+     * @param products Sorted array of products to search in
+     * @param targetId Product ID to search for
+     * @return Product if found, null otherwise
+     */
+    public static Product exponentialSearch(Product[] products, int targetId) {
+        if (verbose) {
+            System.out.println("Performing Exponential Search for Product ID: " + targetId);
+        }
+        long startNanos = System.nanoTime();
+        int comparisons = 0;
+        int bound = 1;
+        
+        while (bound < products.length) {
+            comparisons++;
+            if (products[bound].getProductId() >= targetId) {
+                break;
+            }
+            bound *= 2;
+        }
+        int left = bound / 2;
+        int right = Math.min(bound, products.length - 1);
+        
+        while (left <= right) {
+            comparisons++;
+            int mid = left + (right - left) / 2;
+            int currentId = products[mid].getProductId();
+            
+            if (currentId == targetId) {
+                return found(EXPONENTIAL_SEARCH, startNanos, comparisons, products[mid]);
+            } else if (currentId < targetId) {
+                left = mid + 1;
+            } else {
+                right = mid - 1;
+            }
+        }
+        
+        return notFound(EXPONENTIAL_SEARCH, startNanos, comparisons);
+    }
+    
+    /**
+     * Hybrid Interpolation-Binary Search (requires array sorted by ID)
+     * Uses interpolation probes while they work; whenever one fails to halve the range (skewed IDs),
+     * the next probe is a binary search step, so the worst case stays logarithmic
+     * Time Complexity: O(log log n) on evenly spread IDs, O(log n) worst case
+     * 
+     * @param products Sorted array of products to search in
+     * @param targetId Product ID to search for
+     * @return Product if found, null otherwise
+     */
+    public static Product hybridSearch(Product[] products, int targetId) {
+        if (verbose) {
+            System.out.println("Performing Hybrid Search for Product ID: " + targetId);
+        }
+        long startNanos = System.nanoTime();
+        int comparisons = 0;
+        int left = 0;
+        int right = products.length - 1;
+        boolean bisect = false;
+        // The IDs at both ends are read once and again only when that end moves; each read is counted
+        int lowId = 0;
+        int highId = 0;
+        if (right >= 0) {
+            lowId = products[left].getProductId();
+            highId = products[right].getProductId();
+            comparisons += 2;
+        }
+        
+        while (left <= right && targetId >= lowId && targetId <= highId) {
+            comparisons++;
+            int width = right - left;
+            int mid = bisect ? left + width / 2 : interpolate(left, right, lowId, highId, targetId);
+            int currentId = products[mid].getProductId();
+            
+            if (currentId == targetId) {
+                return found(HYBRID_SEARCH, startNanos, comparisons, products[mid]);
+            } else if (currentId < targetId) {
+                left = mid + 1;
+                if (left <= right) {
+                    lowId = products[left].getProductId();
+                    comparisons++;
+                }
+            } else {
+                right = mid - 1;
+                if (left <= right) {
+                    highId = products[right].getProductId();
+                    comparisons++;
+                }
+            }
+            bisect = !bisect && right - left > width / 2;
+        }
+        
+        return notFound(HYBRID_SEARCH, startNanos, comparisons);
+    }
+    
+    /**
+     * Estimate the position of targetId between two positions by linear interpolation of their IDs
+     * Requires lowId <= targetId <= highId; long arithmetic avoids int overflow
+     */
+    private static int interpolate(int left, int right, int lowId, int highId, int targetId) {
+        if (highId == lowId) {
+            return left;
+        }
+        return left + (int) ((long) (right - left) * ((long) targetId - lowId) / ((long) highId - lowId));
+    }
+    
+    /**
+     * Linear Search over a columnar catalog
+     * Scans the dense int[] ID column instead of dereferencing each Product,
+     * several IDs per instruction when ColumnScan.isVectorized()
+     * Time Complexity: O(n)
+     * 
+     * @param catalog Columnar product catalog
+     * @param targetId Product ID to search for
+     * @return Product if found, null otherwise
+     */
+    public static Product linearSearch(ProductCatalog catalog, int targetId) {
+        if (verbose) {
+            System.out.println("Performing Linear Search (columnar) for Product ID: " + targetId);
+        }
+        long startNanos = System.nanoTime();
+        
+        int row = catalog.scanForId(targetId);
+        if (row >= 0) {
+            return found(COLUMNAR_LINEAR_SEARCH, startNanos, row + 1, catalog.getProduct(row));
+        }
+        
+        return notFound(COLUMNAR_LINEAR_SEARCH, startNanos, catalog.size());
+    }
+    
+    /**
+     * Binary Search over a columnar catalog (rows are always sorted by ID)
+     * Probes the dense int[] ID column, so only the matching Product is ever dereferenced
+     * Time Complexity: O(log n)
+     * 
+     * @param catalog Columnar product catalog
+     * @param targetId Product ID to search for
+     * @return Product if found, null otherwise
+     */
+    public static Product binarySearch(ProductCatalog catalog, int targetId) {
+        if (verbose) {
+            System.out.println("Performing Binary Search (columnar) for Product ID: " + targetId);
+        }
+        long startNanos = System.nanoTime();
+        int comparisons = 0;
+        int left = 0;
+        int right = catalog.size() - 1;
+        
+        while (left <= right) {
+            comparisons++;
+            int mid = left + (right - left) / 2;
+            int currentId = catalog.getProductId(mid);
+            
+            if (currentId == targetId) {
+                return found(COLUMNAR_BINARY_SEARCH, startNanos, comparisons, catalog.getProduct(mid));
+            } else if (currentId < targetId) {
+                left = mid + 1;
+            } else {
+                right = mid - 1;
+            }
+        }
+        
+        return notFound(COLUMNAR_BINARY_SEARCH, startNanos, comparisons);
+    }
+    
+    /**
+     * Eytzinger Search over an index built from a columnar catalog
+     * Walks the breadth-first ID layout with a branchless probe loop
+     * Time Complexity: O(log n)
+     * 
+     * @param index Eytzinger index built with EytzingerIndex.fromCatalog
+     * @param targetId Product ID to search for
+     * @return Product if found, null otherwise
+     */
+    public static Product eytzingerSearch(EytzingerIndex index, int targetId) {
+        if (verbose) {
+            System.out.println("Performing Eytzinger Search for Product ID: " + targetId);
+        }
+        long startNanos = System.nanoTime();
+        Product result = index.find(targetId);
+        return lookedUp(EYTZINGER_SEARCH, startNanos, result);
+    }
+    
+    /**
+     * Hash Search using an open-addressing product ID index
+     * Time Complexity: O(1) expected - works on unsorted data once the index is built
+     * 
+     * @param index Index built with ProductIdIndex.fromProducts
+     * @param targetId Product ID to search for
+     * @return Product if found, null otherwise
+     */
+    public static Product hashSearch(ProductIdIndex index, int targetId) {
+        if (verbose) {
+            System.out.println("Performing Hash Search for Product ID: " + targetId);
+        }
+        long startNanos = System.nanoTime();
+        Product result = index.get(targetId);
+        return lookedUp(HASH_SEARCH, startNanos, result);
+    }
+    
+    /**
+     * Binary Search over a memory-mapped catalog file
+     * Probes the ID records in place; only the matching product is decoded onto the heap
+     * Time Complexity: O(log n)
+     * 
+     * @param catalog Catalog opened with MappedCatalog.open
+     * @param targetId Product ID to search for
+     * @return Product if found, null otherwise
+     */
+    public static Product mappedSearch(MappedCatalog catalog, int targetId) {
+        if (verbose) {
+            System.out.println("Performing Mapped Search for Product ID: " + targetId);
+        }
+        long startNanos = System.nanoTime();
+        Product result = catalog.findById(targetId);
+        return lookedUp(MAPPED_SEARCH, startNanos, result);
+    }
+    
+    /**
+     * Batch Binary Search resolving many product IDs together (requires array sorted by ID)
+     * Targets are sorted and the median target is searched first; targets below it are then resolved
+     * in the left part of the array and targets above it in the right part, so the top levels of the
+     * search are shared by the whole batch instead of repeated for every ID. Once a part holds
+     * few products per target, the remaining targets are resolved by a linear merge-style pass
+     * Time Complexity: O(m log m + m log(n/m)) for m targets instead of O(m log n) separate searches
+     * 
+     * @param products Sorted array of products to search in
+     * @param targetIds Product IDs to search for (any order, duplicates allowed)
+     * @return Products in the same order as targetIds, with null for IDs that were not found
+     */
+    public static Product[] batchBinarySearch(Product[] products, int[] targetIds) {
+        if (verbose) {
+            System.out.println("Performing Batch Binary Search for " + targetIds.length + " Product IDs");
+        }
+        long startNanos = System.nanoTime();
+        long[] keys = sortedTargets(targetIds);
+        Product[] sortedResults = new Product[keys.length];
+        int comparisons = batchSearch(products, keys, 0, keys.length, 0, products.length, sortedResults);
+        
+        Product[] results = new Product[targetIds.length];
+        int found = 0;
+        for (int k = 0; k < keys.length; k++) {
+            results[(int) keys[k]] = sortedResults[k];
+            found += sortedResults[k] != null ? 1 : 0;
+        }
+        return batchLookedUp(BATCH_BINARY_SEARCH, startNanos, comparisons, found, results);
+    }
+    
+    /**
+     * Resolve sorted targets keys[keyFrom, keyTo) within products[from, to)
+     * @return Number of ID comparisons made
+     */
+    private static int batchSearch(Product[] products, long[] keys, int keyFrom, int keyTo,
+                                   int from, int to, Product[] sortedResults) {
+        int comparisons = 0;
+        while (keyFrom < keyTo) {
+            if (to - from <= 4 * (keyTo - keyFrom)) {
+                // Dense: merge the targets with the products in one forward pass
+                for (int k = keyFrom; k < keyTo; k++) {
+                    int targetId = (int) (keys[k] >> 32);
+                    while (from < to && products[from].getProductId() < targetId) {
+                        comparisons++;
+                        from++;
+                    }
+                    comparisons++;
+                    if (from < to && products[from].getProductId() == targetId) {
+                        sortedResults[k] = products[from];
+                    }
+                }
+                return comparisons;
+            }
+            // Sparse: binary search for the first product >= the median target
+            int middleKey = (keyFrom + keyTo) >>> 1;
+            int targetId = (int) (keys[middleKey] >> 32);
+            int left = from;
+            int right = to;
+            while (left < right) {
+                comparisons++;
+                int mid = (left + right) >>> 1;
+                if (products[mid].getProductId() < targetId) {
+                    left = mid + 1;
+                } else {
+                    right = mid;
+                }
+            }
+            boolean hit = left < to && products[left].getProductId() == targetId;
+            if (hit) {
+                sortedResults[middleKey] = products[left];
+            }
+            // Duplicates of the median target share its answer
+            int lowKey = middleKey;
+            while (lowKey > keyFrom && (int) (keys[lowKey - 1] >> 32) == targetId) {
+                sortedResults[--lowKey] = sortedResults[middleKey];
+            }
+            int highKey = middleKey + 1;
+            while (highKey < keyTo && (int) (keys[highKey] >> 32) == targetId) {
+                sortedResults[highKey++] = sortedResults[middleKey];
+            }
+            // Recurse into the smaller side and loop on the larger one
+            int splitFrom = hit ? left + 1 : left;
+            if (lowKey - keyFrom < keyTo - highKey) {
+                comparisons += batchSearch(products, keys, keyFrom, lowKey, from, left, sortedResults);
+                keyFrom = highKey;
+                from = splitFrom;
+            } else {
+                comparisons += batchSearch(products, keys, highKey, keyTo, splitFrom, to, sortedResults);
+                keyTo = lowKey;
+                to = left;
+            }
+        }
+        return comparisons;
+    }
+    
+    /**
+     * Batch Binary Search over a columnar catalog
+     * Resolves the targets over the dense int[] ID column; only the matching Products are dereferenced
+     * Time Complexity: O(m log m + m log(n/m)) for m targets
+     * 
+     * @param catalog Columnar product catalog
+     * @param targetIds Product IDs to search for (any order, duplicates allowed)
+     * @return Products in the same order as targetIds, with null for IDs that were not found
+     */
+    public static Product[] batchBinarySearch(ProductCatalog catalog, int[] targetIds) {
+        if (verbose) {
+            System.out.println("Performing Batch Binary Search (columnar) for " + targetIds.length + " Product IDs");
+        }
+        long startNanos = System.nanoTime();
+        int[] rows = catalog.indexOfIds(targetIds);
+        Product[] results = new Product[targetIds.length];
+        int found = 0;
+        for (int i = 0; i < rows.length; i++) {
+            if (rows[i] >= 0) {
+                results[i] = catalog.getProduct(rows[i]);
+                found++;
+            }
+        }
+        return batchLookedUp(COLUMNAR_BATCH_BINARY_SEARCH, startNanos, 0, found, results);
+    }
+    
+    /**
+     * Sort targets by ID, remembering where each came from
+     * @return Keys packing (target ID, original position) into one long, in ascending ID order
+     */
+    static long[] sortedTargets(int[] targetIds) {
+        long[] keys = new long[targetIds.length];
+        for (int i = 0; i < targetIds.length; i++) {
+            keys[i] = ((long) targetIds[i] << 32) | i;
+        }
+        Arrays.sort(keys);
+        return keys;
     }
     
     /**
@@ -74,7 +526,10 @@ public class SearchAlgorithms {
      * @return Product if found, null otherwise
      */
     public static Product binarySearchByName(Product[] productsByName, String targetName) {
-        System.out.println("Performing Binary Search for Product Name: " + targetName);
+        if (verbose) {
+            System.out.println("Performing Binary Search for Product Name: " + targetName);
+        }
+        long startNanos = System.nanoTime();
         int comparisons = 0;
         int left = 0;
         int right = productsByName.length - 1;
@@ -86,8 +541,7 @@ public class SearchAlgorithms {
             int comparison = currentName.compareToIgnoreCase(targetName);
             
             if (comparison == 0) {
-                System.out.println("✓ Product found after " + comparisons + " comparisons");
-                return productsByName[mid];
+                return found(BINARY_SEARCH_BY_NAME, startNanos, comparisons, productsByName[mid]);
             } else if (comparison < 0) {
                 left = mid + 1;
             } else {
@@ -95,18 +549,94 @@ public class SearchAlgorithms {
             }
         }
         
-        System.out.println("✗ Product not found after " + comparisons + " comparisons");
+        return notFound(BINARY_SEARCH_BY_NAME, startNanos, comparisons);
+    }
+    
+    /**
+     * Fuzzy Search by Product Name, tolerating typos such as "Smartphnoe"
+     * Every query word must match a word of the name within a small edit distance
+     * Time Complexity: sublinear in practice - only name words sharing trigrams with the query are compared
+     * 
+     * @param index Index built with new FuzzyNameIndex(products)
+     * @param targetName Product name (or part of it) to search for
+     * @param limit Maximum number of results
+     * @return Near matches, closest first (empty if none)
+     */
+    public static Product[] fuzzySearchByName(FuzzyNameIndex index, String targetName, int limit) {
+        if (verbose) {
+            System.out.println("Performing Fuzzy Search for Product Name: " + targetName);
+        }
+        long startNanos = System.nanoTime();
+        Product[] results = index.search(targetName, limit);
+        FUZZY_SEARCH_BY_NAME.record(results.length > 0, 0, System.nanoTime() - startNanos);
+        if (verbose) {
+            System.out.println(results.length > 0 ? "✓ " + results.length + " near matches found" : "✗ No near matches found");
+        }
+        return results;
+    }
+    
+    /**
+     * Record a successful search and print it in verbose mode
+     * @return The product that was found
+     */
+    private static Product found(SearchMetrics.Operation operation, long startNanos, int comparisons, Product product) {
+        operation.record(true, comparisons, System.nanoTime() - startNanos);
+        if (verbose) {
+            System.out.println("✓ Product found after " + comparisons + " comparisons");
+        }
+        return product;
+    }
+    
+    /**
+     * Record an unsuccessful search and print it in verbose mode
+     * @return Always null
+     */
+    private static Product notFound(SearchMetrics.Operation operation, long startNanos, int comparisons) {
+        operation.record(false, comparisons, System.nanoTime() - startNanos);
+        if (verbose) {
+            System.out.println("✗ Product not found after " + comparisons + " comparisons");
+        }
         return null;
     }
     
+    /**
+     * Record an index lookup that does not count comparisons and print it in verbose mode
+     * @return The lookup result
+     */
+    private static Product lookedUp(SearchMetrics.Operation operation, long startNanos, Product result) {
+        operation.record(result != null, 0, System.nanoTime() - startNanos);
+        if (verbose) {
+            System.out.println(result != null ? "✓ Product found" : "✗ Product not found");
+        }
+        return result;
+    }
+    
+    /**
+     * Record a batch lookup (a hit when every target was found) and print it in verbose mode
+     * @return The lookup results
+     */
+    private static Product[] batchLookedUp(SearchMetrics.Operation operation, long startNanos, int comparisons,
+                                           int found, Product[] results) {
+        operation.record(found == results.length, comparisons, System.nanoTime() - startNanos);
+        if (verbose) {
+            System.out.println("✓ " + found + " of " + results.length + " products found"
+                               + (comparisons > 0 ? " after " + comparisons + " comparisons" : ""));
+        }
+        return results;
+    }
+    
     /**
      * Sort products by ID for binary search
      * @param products Array of products to sort
      */
     public static void sortProductsById(Product[] products) {
-        System.out.println("Sorting products by ID for binary search...");
+        if (verbose) {
+            System.out.println("Sorting products by ID for binary search...");
+        }
         Arrays.sort(products);
-        System.out.println("✓ Products sorted successfully");
+        if (verbose) {
+            System.out.println("✓ Products sorted successfully");
+        }
     }
     
     /**
@@ -114,9 +644,116 @@ public class SearchAlgorithms {
      * @param products Array of products to sort
      */
     public static void sortProductsByName(Product[] products) {
-        System.out.println("Sorting products by name for binary search...");
+        if (verbose) {
+            System.out.println("Sorting products by name for binary search...");
+        }
         Arrays.sort(products, (p1, p2) -> p1.getProductName().compareToIgnoreCase(p2.getProductName()));
-        System.out.println("✓ Products sorted by name successfully");
+        if (verbose) {
+            System.out.println("✓ Products sorted by name successfully");
+        }
+    }
+    
+    /**
+     * Top-k Selection with a bounded heap (no full sort)
+     * Keeps the k best products seen so far in a heap whose root is the worst of them, so a product
+     * that does not beat the root costs one comparison
+     * Time Complexity: O(n log k) instead of O(n log n) for sorting everything
+     * Space Complexity: O(k)
+     * 
+     * @param products Products in any order (not modified)
+     * @param k Number of products wanted
+     * @param order Ranking, best first (e.g. BY_PRICE for the cheapest)
+     * @return The min(k, n) best products in order
+     */
+    public static Product[] topK(Product[] products, int k, Comparator<? super Product> order) {
+        return topK(products, null, k, order);
+    }
+    
+    /**
+     * Top-k Selection over the products that pass a filter
+     * Time Complexity: O(n log k)
+     * 
+     * @param products Products in any order (not modified)
+     * @param filter Products to consider, or null for all
+     * @param k Number of products wanted
+     * @param order Ranking, best first
+     * @return Up to k matching products in order
+     */
+    public static Product[] topK(Product[] products, Predicate<? super Product> filter, int k,
+                                 Comparator<? super Product> order) {
+        Product[] heap = new Product[Math.max(0, Math.min(k, products.length))];
+        int size = 0;
+        for (Product product : products) {
+            if (filter != null && !filter.test(product)) {
+                continue;
+            }
+            if (size < heap.length) {
+                heap[size] = product;
+                siftUp(heap, size++, order);
+            } else if (size > 0 && order.compare(product, heap[0]) < 0) {
+                heap[0] = product;
+                siftDown(heap, 0, size, order);
+            }
+        }
+        // Swap the worst remaining product to the back until the heap is empty
+        for (int end = size - 1; end > 0; end--) {
+            Product worst = heap[0];
+            heap[0] = heap[end];
+            heap[end] = worst;
+            siftDown(heap, 0, end, order);
+        }
+        return size == heap.length ? heap : Arrays.copyOf(heap, size);
+    }
+    
+    /**
+     * Find the cheapest products of a category without sorting the catalog
+     * Time Complexity: O(n log k)
+     * 
+     * @param products Products in any order
+     * @param category Category name, or null for all categories
+     * @param k Number of products wanted
+     * @return Up to k products of that category, cheapest first (ties by ID)
+     */
+    public static Product[] cheapestInCategory(Product[] products, String category, int k) {
+        return topK(products, category == null ? null : product -> category.equals(product.getCategory()), k, BY_PRICE);
+    }
+    
+    /**
+     * Move a heap entry up while it ranks after its parent (the root is the worst entry)
+     */
+    private static void siftUp(Product[] heap, int i, Comparator<? super Product> order) {
+        Product entry = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (order.compare(entry, heap[parent]) <= 0) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = entry;
+    }
+    
+    /**
+     * Move a heap entry down while a child ranks after it
+     */
+    private static void siftDown(Product[] heap, int i, int size, Comparator<? super Product> order) {
+        Product entry = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && order.compare(heap[child + 1], heap[child]) > 0) {
+                child++;
+            }
+            if (order.compare(heap[child], entry) <= 0) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = entry;
     }
     
     /**
@@ -153,4 +790,16 @@ public class SearchAlgorithms {
             new Product(4003, "Magazine", "Books", 9.99, "Monthly lifestyle magazine")
         };
     }
+    
+    /**
+     * Generate a synthetic catalog of any size for load tests and benchmarks
+     * Products come back in ID order (IDs 1000, 1002, 1004, ...); the same seed gives the same catalog
+     * 
+     * @param count Number of products
+     * @param seed Random seed
+     * @return Array of generated products
+     */
+    public static Product[] generateSampleProducts(int count, long seed) {
+        return new CatalogGenerator(seed).generateArray(count);
+    }
 } 
\ No newline at end of file
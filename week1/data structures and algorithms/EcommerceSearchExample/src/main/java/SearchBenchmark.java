@@ -0,0 +1,352 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * SearchBenchmark class measuring the SearchAlgorithms methods on generated catalogs
+ * A self-contained harness in the style of JMH (warmup and measurement iterations, average time
+ * per operation, results consumed by a sink) so it runs with plain javac and no extra libraries
+ * Results are written as JSON that AlgorithmAnalysis.printBenchmarkTable renders
+ * 
+ * Usage: java SearchBenchmark [--sizes 1000,10000,...] [--warmup n] [--iterations n] [--time-ms n] [--out file]
+ * (10,000,000 products need about -Xmx4g)
+ */
+public class SearchBenchmark {
+    private static final int[] DEFAULT_SIZES = {1_000, 10_000, 100_000, 1_000_000};
+    private static final String[] WORKLOADS = {"hit", "miss"};
+    private static final String[] DISTRIBUTIONS = {"uniform", "zipf"};
+    private static final int TARGET_COUNT = 1 << 16;
+    // Lookups per request for the batch benchmarks (a large cart or recommendation page)
+    private static final int BATCH_SIZE = 1 << 10;
+    
+    // Results are folded in here so the JIT cannot drop the searches as dead code
+    private static volatile long sink;
+    
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationNanos;
+    
+    /**
+     * Constructor for SearchBenchmark
+     * @param warmupIterations Iterations run before measuring, to let the JIT compile the code
+     * @param measurementIterations Iterations whose average time is reported
+     * @param iterationMillis Length of each iteration
+     */
+    public SearchBenchmark(int warmupIterations, int measurementIterations, long iterationMillis) {
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationNanos = iterationMillis * 1_000_000L;
+    }
+    
+    public static void main(String[] args) throws IOException {
+        int[] sizes = DEFAULT_SIZES;
+        int warmup = 3;
+        int iterations = 5;
+        long timeMillis = 200;
+        String out = "search-benchmark.json";
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--sizes":
+                    sizes = Arrays.stream(args[i + 1].replace("_", "").split(",")).mapToInt(Integer::parseInt).toArray();
+                    break;
+                case "--warmup":
+                    warmup = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--iterations":
+                    iterations = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--time-ms":
+                    timeMillis = Long.parseLong(args[i + 1]);
+                    break;
+                case "--out":
+                    out = args[i + 1];
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        
+        SearchAlgorithms.setVerbose(false);
+        System.out.println("Column scan kernels: " + (ColumnScan.isVectorized() ? "Vector API (SIMD)" : "scalar"));
+        List<Result> results = new SearchBenchmark(warmup, iterations, timeMillis).runAll(sizes);
+        Files.write(Paths.get(out), toJson(results).getBytes(StandardCharsets.UTF_8));
+        System.out.println("✓ Results written to " + out);
+        AlgorithmAnalysis.printBenchmarkTable(out);
+    }
+    
+    /**
+     * Run every benchmark for every catalog size
+     * @param sizes Catalog sizes
+     * @return One result per benchmark and parameter combination
+     */
+    public List<Result> runAll(int[] sizes) {
+        List<Result> results = new ArrayList<>();
+        for (int size : sizes) {
+            Product[] products = generateProducts(size, 42);
+            Product[] byId = products.clone();
+            Arrays.sort(byId);
+            Product[] byName = products.clone();
+            Arrays.sort(byName, (p1, p2) -> p1.getProductName().compareToIgnoreCase(p2.getProductName()));
+            ProductCatalog catalog = ProductCatalog.fromProducts(products);
+            
+            for (String workload : WORKLOADS) {
+                for (String distribution : DISTRIBUTIONS) {
+                    boolean hit = workload.equals("hit");
+                    int[] ids = targetIds(products, hit, distribution, 7);
+                    String[] names = targetNames(products, hit, distribution, 7);
+                    results.add(measure("linearSearch", size, workload, distribution,
+                        i -> consume(SearchAlgorithms.linearSearch(products, ids[i & (TARGET_COUNT - 1)]))));
+                    results.add(measure("binarySearch", size, workload, distribution,
+                        i -> consume(SearchAlgorithms.binarySearch(byId, ids[i & (TARGET_COUNT - 1)]))));
+                    // Column scans (SIMD when run with the vector module) against binary search on the same catalog
+                    results.add(measure("linearSearch (columnar)", size, workload, distribution,
+                        i -> consume(SearchAlgorithms.linearSearch(catalog, ids[i & (TARGET_COUNT - 1)]))));
+                    results.add(measure("binarySearch (columnar)", size, workload, distribution,
+                        i -> consume(SearchAlgorithms.binarySearch(catalog, ids[i & (TARGET_COUNT - 1)]))));
+                    results.add(measure("binarySearchByName", size, workload, distribution,
+                        i -> consume(SearchAlgorithms.binarySearchByName(byName, names[i & (TARGET_COUNT - 1)]))));
+                    
+                    // One operation = one request of BATCH_SIZE IDs, as separate searches and as one batch
+                    int[][] batches = new int[TARGET_COUNT / BATCH_SIZE][];
+                    for (int b = 0; b < batches.length; b++) {
+                        batches[b] = Arrays.copyOfRange(ids, b * BATCH_SIZE, (b + 1) * BATCH_SIZE);
+                    }
+                    results.add(measure("binarySearch x" + BATCH_SIZE, size, workload, distribution, i -> {
+                        for (int id : batches[i & (batches.length - 1)]) {
+                            consume(SearchAlgorithms.binarySearch(byId, id));
+                        }
+                    }));
+                    results.add(measure("batchBinarySearch x" + BATCH_SIZE, size, workload, distribution, i -> {
+                        for (Product product : SearchAlgorithms.batchBinarySearch(byId, batches[i & (batches.length - 1)])) {
+                            consume(product);
+                        }
+                    }));
+                    results.add(measure("batchBinarySearch (columnar) x" + BATCH_SIZE, size, workload, distribution, i -> {
+                        for (Product product : SearchAlgorithms.batchBinarySearch(catalog, batches[i & (batches.length - 1)])) {
+                            consume(product);
+                        }
+                    }));
+                }
+            }
+            
+            // Full column scans: price range filter and category code match
+            results.add(measure("rowsInPriceRange", size, "-", "-", i -> {
+                int[] rows = catalog.rowsInPriceRange(20.0, 50.0);
+                sink += rows.length;
+            }));
+            results.add(measure("rowsInCategory", size, "-", "-", i -> {
+                int[] rows = catalog.rowsInCategory(products[0].getCategory());
+                sink += rows.length;
+            }));
+            
+            // Each sort operation copies the unsorted catalog first; the copy is part of the measured time
+            Product[] scratch = new Product[size];
+            results.add(measure("sortProductsById", size, "-", "-", i -> {
+                System.arraycopy(products, 0, scratch, 0, size);
+                SearchAlgorithms.sortProductsById(scratch);
+                consume(scratch[0]);
+            }));
+            results.add(measure("sortProductsByName", size, "-", "-", i -> {
+                System.arraycopy(products, 0, scratch, 0, size);
+                SearchAlgorithms.sortProductsByName(scratch);
+                consume(scratch[0]);
+            }));
+        }
+        return results;
+    }
+    
+    /**
+     * Warm up, then measure the average time of one operation over several iterations
+     */
+    private Result measure(String benchmark, int size, String workload, String distribution, Operation operation) {
+        System.out.printf("Running %s (size=%,d, workload=%s, keys=%s)...%n", benchmark, size, workload, distribution);
+        // Fast operations are timed in batches so reading the clock does not dominate
+        int batch = 1;
+        for (int i = 0; i < warmupIterations; i++) {
+            double nanosPerOp = runIteration(operation, batch);
+            batch = (int) Math.max(1, Math.min(1 << 16, 100_000 / Math.max(1.0, nanosPerOp)));
+        }
+        double[] raw = new double[measurementIterations];
+        for (int i = 0; i < measurementIterations; i++) {
+            raw[i] = runIteration(operation, batch);
+        }
+        return new Result(benchmark, size, workload, distribution, raw);
+    }
+    
+    /**
+     * Run operations for one iteration length
+     * @return Average nanoseconds per operation
+     */
+    private double runIteration(Operation operation, int batch) {
+        long operations = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            for (int i = 0; i < batch; i++) {
+                operation.run((int) operations++);
+            }
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < iterationNanos);
+        return (double) elapsed / operations;
+    }
+    
+    private static void consume(Product product) {
+        if (product != null) {
+            sink += product.getProductId();
+        }
+    }
+    
+    /**
+     * Generate a catalog with CatalogGenerator (unique even IDs, so odd IDs always miss) in random order
+     * @param size Number of products
+     * @param seed Random seed
+     * @return Unsorted products
+     */
+    static Product[] generateProducts(int size, long seed) {
+        Product[] products = SearchAlgorithms.generateSampleProducts(size, seed);
+        // Fisher-Yates shuffle so linear search does not see IDs in order
+        Random random = new Random(seed);
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Product tmp = products[i];
+            products[i] = products[j];
+            products[j] = tmp;
+        }
+        return products;
+    }
+    
+    /**
+     * Pick target IDs: existing IDs for hits, the odd neighbour of an existing ID for misses
+     */
+    private static int[] targetIds(Product[] products, boolean hit, String distribution, long seed) {
+        int[] positions = targetPositions(products.length, distribution, seed);
+        int[] ids = new int[TARGET_COUNT];
+        for (int i = 0; i < TARGET_COUNT; i++) {
+            ids[i] = products[positions[i]].getProductId() + (hit ? 0 : 1);
+        }
+        return ids;
+    }
+    
+    /**
+     * Pick target names: existing names for hits, an existing name with a suffix for misses
+     */
+    private static String[] targetNames(Product[] products, boolean hit, String distribution, long seed) {
+        int[] positions = targetPositions(products.length, distribution, seed);
+        String[] names = new String[TARGET_COUNT];
+        for (int i = 0; i < TARGET_COUNT; i++) {
+            names[i] = products[positions[i]].getProductName() + (hit ? "" : "~");
+        }
+        return names;
+    }
+    
+    /**
+     * Positions into the product array, uniform or Zipf-distributed
+     * Zipf (s = 1) is sampled by inverting the continuous distribution: rank = (n + 1)^u - 1,
+     * so a few products take most lookups; a random permutation scatters the hot ranks across the array
+     */
+    private static int[] targetPositions(int size, String distribution, long seed) {
+        Random random = new Random(seed);
+        int[] positions = new int[TARGET_COUNT];
+        if (!distribution.equals("zipf")) {
+            for (int i = 0; i < TARGET_COUNT; i++) {
+                positions[i] = random.nextInt(size);
+            }
+            return positions;
+        }
+        int[] permutation = new int[size];
+        for (int i = 0; i < size; i++) {
+            permutation[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = tmp;
+        }
+        for (int i = 0; i < TARGET_COUNT; i++) {
+            int rank = (int) Math.min(size - 1, Math.pow(size + 1.0, random.nextDouble()) - 1);
+            positions[i] = permutation[rank];
+        }
+        return positions;
+    }
+    
+    /**
+     * Format results as a JSON array (one object per line, JMH-like field names)
+     * @param results Benchmark results
+     * @return JSON text
+     */
+    public static String toJson(List<Result> results) {
+        StringBuilder json = new StringBuilder("[\n");
+        for (int i = 0; i < results.size(); i++) {
+            Result result = results.get(i);
+            json.append(String.format(Locale.ROOT,
+                "  {\"benchmark\": \"%s\", \"params\": {\"size\": %d, \"workload\": \"%s\", \"keys\": \"%s\"}, "
+                + "\"mode\": \"avgt\", \"score\": %.3f, \"scoreStdDev\": %.3f, \"scoreUnit\": \"ns/op\", \"rawData\": %s}",
+                result.benchmark, result.size, result.workload, result.distribution,
+                result.getScore(), result.getStdDev(), Arrays.toString(result.raw)));
+            json.append(i + 1 < results.size() ? ",\n" : "\n");
+        }
+        return json.append("]\n").toString();
+    }
+    
+    /**
+     * One benchmarked operation; the argument is the operation counter
+     */
+    private interface Operation {
+        void run(int invocation);
+    }
+    
+    /**
+     * Result class holding the measured iterations of one benchmark configuration
+     */
+    public static class Result {
+        private final String benchmark;
+        private final int size;
+        private final String workload;
+        private final String distribution;
+        private final double[] raw;
+        
+        /**
+         * Constructor for Result
+         * @param benchmark Benchmarked method
+         * @param size Catalog size
+         * @param workload "hit", "miss" or "-"
+         * @param distribution "uniform", "zipf" or "-"
+         * @param raw Average ns/op of each measurement iteration
+         */
+        public Result(String benchmark, int size, String workload, String distribution, double[] raw) {
+            this.benchmark = benchmark;
+            this.size = size;
+            this.workload = workload;
+            this.distribution = distribution;
+            this.raw = raw;
+        }
+        
+        /**
+         * Get mean time per operation over the measurement iterations
+         * @return Nanoseconds per operation
+         */
+        public double getScore() {
+            return Arrays.stream(raw).average().orElse(0);
+        }
+        
+        /**
+         * Get standard deviation between measurement iterations
+         * @return Nanoseconds per operation
+         */
+        public double getStdDev() {
+            double mean = getScore();
+            double sum = 0;
+            for (double value : raw) {
+                sum += (value - mean) * (value - mean);
+            }
+            return raw.length > 1 ? Math.sqrt(sum / (raw.length - 1)) : 0;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,158 @@
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SearchMetrics class holding a lock-free registry of per-operation search statistics
+ * Searches record calls, hits, comparisons and latency here instead of printing, and the
+ * registry can be dumped on demand as a text report
+ */
+public class SearchMetrics {
+    private static final Map<String, Operation> OPERATIONS = new ConcurrentSkipListMap<>();
+    
+    /**
+     * Get (or create) the statistics for a named operation
+     * @param name Operation name, e.g. "binarySearch"
+     * @return Shared statistics object
+     */
+    public static Operation operation(String name) {
+        return OPERATIONS.computeIfAbsent(name, Operation::new);
+    }
+    
+    /**
+     * Clear every operation's counters, e.g. between benchmark runs
+     */
+    public static void reset() {
+        for (Operation operation : OPERATIONS.values()) {
+            operation.reset();
+        }
+    }
+    
+    /**
+     * Format all operations that have been called as a table
+     * @return Report text
+     */
+    public static String dump() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-26s %10s %8s %10s %10s %10s %10s %10s%n",
+                                    "Operation", "Calls", "Hit %", "Avg cmp", "Mean ns", "p50 ns", "p99 ns", "Max ns"));
+        report.append("-".repeat(100)).append(System.lineSeparator());
+        for (Operation operation : OPERATIONS.values()) {
+            long calls = operation.getCalls();
+            if (calls == 0) {
+                continue;
+            }
+            LatencyHistogram latency = operation.getLatency();
+            long comparisons = operation.getComparisons();
+            report.append(String.format("%-26s %10d %8.1f %10s %10.0f %10d %10d %10d%n",
+                                        operation.getName(), calls, 100.0 * operation.getHits() / calls,
+                                        comparisons == 0 ? "-" : String.format("%.1f", (double) comparisons / calls),
+                                        latency.getMean(), latency.valueAtPercentile(50),
+                                        latency.valueAtPercentile(99), latency.getMax()));
+        }
+        return report.toString();
+    }
+    
+    /**
+     * Print the report to standard output
+     */
+    public static void printReport() {
+        System.out.println("=== SEARCH METRICS ===");
+        System.out.print(dump());
+        System.out.println();
+    }
+    
+    /**
+     * Operation class with the counters and latency histogram of one search operation
+     */
+    public static class Operation {
+        private final String name;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder comparisons = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+        
+        /**
+         * Constructor for Operation
+         * @param name Operation name
+         */
+        public Operation(String name) {
+            this.name = name;
+        }
+        
+        /**
+         * Record one search
+         * @param hit True if the target was found
+         * @param comparisonCount Comparisons made (0 when the operation does not count them)
+         * @param nanos Elapsed time in nanoseconds
+         */
+        public void record(boolean hit, long comparisonCount, long nanos) {
+            calls.increment();
+            if (hit) {
+                hits.increment();
+            }
+            if (comparisonCount != 0) {
+                comparisons.add(comparisonCount);
+            }
+            latency.record(nanos);
+        }
+        
+        /**
+         * Clear the counters and histogram
+         */
+        public void reset() {
+            calls.reset();
+            hits.reset();
+            comparisons.reset();
+            latency.reset();
+        }
+        
+        /**
+         * Get operation name
+         * @return Operation name
+         */
+        public String getName() {
+            return name;
+        }
+        
+        /**
+         * Get number of recorded searches
+         * @return Call count
+         */
+        public long getCalls() {
+            return calls.sum();
+        }
+        
+        /**
+         * Get number of searches that found their target
+         * @return Hit count
+         */
+        public long getHits() {
+            return hits.sum();
+        }
+        
+        /**
+         * Get number of searches that found nothing
+         * @return Miss count
+         */
+        public long getMisses() {
+            return calls.sum() - hits.sum();
+        }
+        
+        /**
+         * Get total comparisons over all counted searches
+         * @return Comparison count
+         */
+        public long getComparisons() {
+            return comparisons.sum();
+        }
+        
+        /**
+         * Get latency histogram
+         * @return Histogram of elapsed nanoseconds
+         */
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,314 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * VersionedCatalog class publishing immutable catalog snapshots for live price and description updates
+ * Readers take the current snapshot with one volatile read and search it without locks; writers are
+ * serialized, copy the product array, apply a whole batch to the copy and publish it atomically,
+ * so a reader sees either none or all of a batch and a sorted array is never torn
+ */
+public class VersionedCatalog {
+    private final AtomicReference<Snapshot> current;
+    private final Object writeLock = new Object();
+    
+    /**
+     * Constructor for VersionedCatalog
+     * @param source Products in any order (copied; later changes to them are not seen)
+     * @throws IllegalArgumentException If two products share an ID
+     */
+    public VersionedCatalog(Product[] source) {
+        int n = source.length;
+        Product[] byId = new Product[n];
+        for (int i = 0; i < n; i++) {
+            byId[i] = copyOf(source[i], source[i].getPrice(), source[i].getDescriptionData());
+        }
+        Arrays.sort(byId);
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = byId[i].getProductId();
+            if (i > 0 && ids[i] == ids[i - 1]) {
+                throw new IllegalArgumentException("Duplicate product ID: " + ids[i]);
+            }
+        }
+        // Updates never change IDs or names, so both orders are computed once and shared by every version
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> byId[a].getProductName().compareToIgnoreCase(byId[b].getProductName()));
+        int[] nameOrder = new int[n];
+        for (int i = 0; i < n; i++) {
+            nameOrder[i] = order[i];
+        }
+        this.current = new AtomicReference<>(new Snapshot(0, ids, nameOrder, byId));
+    }
+    
+    /**
+     * Get the latest published snapshot
+     * Time Complexity: O(1), never blocks
+     * 
+     * @return Current snapshot
+     */
+    public Snapshot snapshot() {
+        return current.get();
+    }
+    
+    /**
+     * Apply a batch of updates as one new version
+     * Time Complexity: O(n + k) - one copy of the product references plus the k changed products
+     * 
+     * @param batch Updates to apply
+     * @return Snapshot published by this batch (the current one if the batch is empty)
+     * @throws IllegalArgumentException If the batch names an unknown product ID; nothing is published
+     */
+    public Snapshot apply(UpdateBatch batch) {
+        synchronized (writeLock) {
+            Snapshot base = current.get();
+            if (batch.isEmpty()) {
+                return base;
+            }
+            Product[] products = base.products.clone();
+            for (Map.Entry<Integer, Update> entry : batch.updates.entrySet()) {
+                int row = Arrays.binarySearch(base.ids, entry.getKey());
+                if (row < 0) {
+                    throw new IllegalArgumentException("Unknown product ID: " + entry.getKey());
+                }
+                Update update = entry.getValue();
+                Product old = products[row];
+                products[row] = copyOf(old,
+                                       update.hasPrice ? update.price : old.getPrice(),
+                                       update.description != null ? ProductDescription.of(update.description)
+                                                                  : old.getDescriptionData());
+            }
+            Snapshot next = new Snapshot(base.version + 1, base.ids, base.nameOrder, products);
+            current.set(next);
+            return next;
+        }
+    }
+    
+    /**
+     * Demonstrate readers searching while a writer publishes batches
+     * Every batch gives all products the same price, so a reader that ever sees two prices
+     * in one snapshot has observed a half-applied batch
+     * Usage: java VersionedCatalog [products] [batches] [readers]
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int count = args.length > 0 ? Integer.parseInt(args[0].replace("_", "")) : 100_000;
+        int batches = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int readerCount = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        
+        Product[] products = SearchAlgorithms.generateSampleProducts(count, 42);
+        VersionedCatalog catalog = new VersionedCatalog(products);
+        catalog.apply(fillPrice(products, 0.99));
+        
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicLong reads = new AtomicLong();
+        AtomicLong tornReads = new AtomicLong();
+        List<Thread> readers = new ArrayList<>();
+        for (int t = 0; t < readerCount; t++) {
+            long seed = t;
+            Thread reader = new Thread(() -> {
+                long state = seed;
+                while (!done.get()) {
+                    Snapshot snapshot = catalog.snapshot();
+                    state = state * 6364136223846793005L + 1442695040888963407L;
+                    int id = products[(int) ((state >>> 33) % products.length)].getProductId();
+                    Product first = snapshot.findById(id);
+                    Product last = snapshot.getProduct(snapshot.size() - 1);
+                    if (first == null || first.getPrice() != last.getPrice()) {
+                        tornReads.incrementAndGet();
+                    }
+                    reads.incrementAndGet();
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+        
+        long start = System.nanoTime();
+        for (int b = 1; b <= batches; b++) {
+            catalog.apply(fillPrice(products, b + 0.99));
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        done.set(true);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        
+        System.out.println("=== VERSIONED CATALOG (" + String.format("%,d", count) + " products) ===");
+        System.out.printf("Batches applied: %,d (%,d updates each) in %.2f s%n", batches, count, seconds);
+        System.out.printf("Final version: %d%n", catalog.snapshot().getVersion());
+        System.out.printf("Reads by %d threads: %,d, torn reads: %,d%n", readerCount, reads.get(), tornReads.get());
+    }
+    
+    private static UpdateBatch fillPrice(Product[] products, double price) {
+        UpdateBatch batch = new UpdateBatch();
+        for (Product product : products) {
+            batch.setPrice(product.getProductId(), price);
+        }
+        return batch;
+    }
+    
+    /**
+     * Create a private copy of a product, keeping a compressed description compressed
+     */
+    private static Product copyOf(Product product, double price, ProductDescription description) {
+        return Product.withDescription(product.getProductId(), product.getProductName(), product.getCategory(),
+                                       price, description);
+    }
+    
+    /**
+     * Snapshot class holding one immutable version of the catalog
+     * Its products are private copies that no writer touches after publication; callers must not
+     * call setPrice or setDescription on them (use an UpdateBatch instead)
+     */
+    public static final class Snapshot {
+        private final long version;
+        private final int[] ids;
+        private final int[] nameOrder;
+        private final Product[] products;
+        
+        private Snapshot(long version, int[] ids, int[] nameOrder, Product[] products) {
+            this.version = version;
+            this.ids = ids;
+            this.nameOrder = nameOrder;
+            this.products = products;
+        }
+        
+        /**
+         * Get version number (0 for the initial catalog, +1 per applied batch)
+         * @return Version
+         */
+        public long getVersion() {
+            return version;
+        }
+        
+        /**
+         * Get number of products
+         * @return Size
+         */
+        public int size() {
+            return products.length;
+        }
+        
+        /**
+         * Find a product by ID using binary search over the ID column
+         * Time Complexity: O(log n)
+         * 
+         * @param productId Product ID to search for
+         * @return Product if found, null otherwise
+         */
+        public Product findById(int productId) {
+            int row = Arrays.binarySearch(ids, productId);
+            return row >= 0 ? products[row] : null;
+        }
+        
+        /**
+         * Find a product by name (case-insensitive) using binary search over the name order
+         * Time Complexity: O(log n)
+         * 
+         * @param productName Product name to search for
+         * @return Product if found, null otherwise
+         */
+        public Product findByName(String productName) {
+            int left = 0;
+            int right = nameOrder.length - 1;
+            while (left <= right) {
+                int mid = (left + right) >>> 1;
+                Product product = products[nameOrder[mid]];
+                int comparison = product.getProductName().compareToIgnoreCase(productName);
+                if (comparison == 0) {
+                    return product;
+                } else if (comparison < 0) {
+                    left = mid + 1;
+                } else {
+                    right = mid - 1;
+                }
+            }
+            return null;
+        }
+        
+        /**
+         * Get the product at a position in ID order
+         * @param index Position, 0 <= index < size()
+         * @return Product
+         */
+        public Product getProduct(int index) {
+            return products[index];
+        }
+        
+        /**
+         * Get all products sorted by ID
+         * @return Copy of the product array
+         */
+        public Product[] toArray() {
+            return products.clone();
+        }
+    }
+    
+    /**
+     * UpdateBatch class collecting price and description changes applied together as one version
+     * Later changes to the same product override earlier ones; not thread-safe while being built
+     */
+    public static final class UpdateBatch {
+        private final Map<Integer, Update> updates = new LinkedHashMap<>();
+        
+        /**
+         * Set a new price
+         * @param productId Product to change
+         * @param price New price
+         * @return This batch
+         */
+        public UpdateBatch setPrice(int productId, double price) {
+            Update update = updates.computeIfAbsent(productId, id -> new Update());
+            update.price = price;
+            update.hasPrice = true;
+            return this;
+        }
+        
+        /**
+         * Set a new description
+         * @param productId Product to change
+         * @param description New description
+         * @return This batch
+         */
+        public UpdateBatch setDescription(int productId, String description) {
+            if (description == null) {
+                throw new IllegalArgumentException("Description must not be null");
+            }
+            updates.computeIfAbsent(productId, id -> new Update()).description = description;
+            return this;
+        }
+        
+        /**
+         * Get number of products changed by this batch
+         * @return Product count
+         */
+        public int size() {
+            return updates.size();
+        }
+        
+        /**
+         * Check whether the batch has no changes
+         * @return True if empty
+         */
+        public boolean isEmpty() {
+            return updates.isEmpty();
+        }
+    }
+    
+    /**
+     * Pending change to one product
+     */
+    private static final class Update {
+        private boolean hasPrice;
+        private double price;
+        private String description;
+    }
+} 
\ No newline at end of file
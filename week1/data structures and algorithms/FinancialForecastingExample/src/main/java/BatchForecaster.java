@@ -0,0 +1,255 @@
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * BatchForecaster class forecasting many series (e.g. a whole portfolio) in one call
+ * Series are plain double[] value arrays and results go into caller-supplied (or one freshly allocated)
+ * flat arrays, so no object is created per series or per value
+ * Large batches are split into blocks of series processed by a parallel stream
+ * When VectorBatchKernels from src/main/vector is compiled and the JVM runs with
+ * --add-modules jdk.incubator.vector, the per-series loops use SIMD instructions through the Vector API;
+ * otherwise the scalar kernels below are used, so the default build needs no extra flags
+ * Run with -Dbatchforecast.scalar=true to force the scalar kernels for comparison
+ */
+public final class BatchForecaster {
+    // Series per parallel task, and the batch size below which everything stays on the calling thread
+    private static final int BLOCK_SIZE = 256;
+    private static final int PARALLEL_THRESHOLD = 1024;
+    
+    private static final Kernels KERNELS = loadKernels();
+    
+    private BatchForecaster() {
+    }
+    
+    /**
+     * Average growth rate of every series, as in RecursiveForecasting (periods whose previous value
+     * is not positive are skipped; a series without any usable period gets 0)
+     * Time Complexity: O(total points / lanes / threads)
+     * 
+     * @param series Historical values of each series, oldest first
+     * @param growthRates Output, one average growth rate (as percentage) per series
+     */
+    public static void averageGrowthRates(double[][] series, double[] growthRates) {
+        if (growthRates.length < series.length) {
+            throw new IllegalArgumentException("Need room for " + series.length + " growth rates");
+        }
+        forEachSeries(series.length, i -> growthRates[i] = KERNELS.averageGrowthRate(series[i]));
+    }
+    
+    /**
+     * Average growth rate of every series
+     * @param series Historical values of each series, oldest first
+     * @return One average growth rate (as percentage) per series
+     */
+    public static double[] averageGrowthRates(double[][] series) {
+        double[] growthRates = new double[series.length];
+        averageGrowthRates(series, growthRates);
+        return growthRates;
+    }
+    
+    /**
+     * Forecast every period from 1 to n for every series, continuing from its most recent value at its
+     * average growth rate (the batch form of RecursiveForecasting.forecastFromHistoricalData)
+     * Time Complexity: O((total points + series × periods) / lanes / threads)
+     * 
+     * @param series Historical values of each series, oldest first (at least 2 points each)
+     * @param periods Number of periods to forecast
+     * @param forecasts Output, row-major: forecasts[s * periods + p] is series s after p + 1 periods
+     */
+    public static void forecast(double[][] series, int periods, double[] forecasts) {
+        validate(series);
+        if (periods < 0 || forecasts.length < (long) series.length * periods) {
+            throw new IllegalArgumentException("Need room for " + series.length + " x " + periods + " forecasts");
+        }
+        forEachSeries(series.length, i -> {
+            double[] values = series[i];
+            double growthFactor = 1 + (KERNELS.averageGrowthRate(values) / 100.0);
+            KERNELS.forecast(values[values.length - 1], growthFactor, forecasts, i * periods, periods);
+        });
+    }
+    
+    /**
+     * Forecast every period from 1 to n for every series
+     * @param series Historical values of each series, oldest first (at least 2 points each)
+     * @param periods Number of periods to forecast
+     * @return Row-major forecasts: element s * periods + p is series s after p + 1 periods
+     */
+    public static double[] forecast(double[][] series, int periods) {
+        double[] forecasts = new double[Math.multiplyExact(series.length, Math.max(0, periods))];
+        forecast(series, periods, forecasts);
+        return forecasts;
+    }
+    
+    /**
+     * Value of every series after n periods only, with one closed-form power per series
+     * Time Complexity: O(total points / lanes / threads + series)
+     * 
+     * @param series Historical values of each series, oldest first (at least 2 points each)
+     * @param periods Number of periods to forecast
+     * @param futureValues Output, one future value per series
+     */
+    public static void futureValues(double[][] series, int periods, double[] futureValues) {
+        validate(series);
+        if (futureValues.length < series.length) {
+            throw new IllegalArgumentException("Need room for " + series.length + " future values");
+        }
+        forEachSeries(series.length, i -> {
+            double[] values = series[i];
+            futureValues[i] = ForecastEngine.futureValue(values[values.length - 1],
+                                                         KERNELS.averageGrowthRate(values), periods);
+        });
+    }
+    
+    /**
+     * Check which kernels are in use
+     * @return True if the Vector API kernels were loaded
+     */
+    public static boolean isVectorized() {
+        return !(KERNELS instanceof ScalarKernels);
+    }
+    
+    /**
+     * Run a task for every series index, in parallel blocks of BLOCK_SIZE series for large batches
+     */
+    private static void forEachSeries(int count, IntConsumer task) {
+        if (count < PARALLEL_THRESHOLD) {
+            for (int i = 0; i < count; i++) {
+                task.accept(i);
+            }
+            return;
+        }
+        IntStream.range(0, (count + BLOCK_SIZE - 1) / BLOCK_SIZE).parallel().forEach(block -> {
+            int end = Math.min(count, (block + 1) * BLOCK_SIZE);
+            for (int i = block * BLOCK_SIZE; i < end; i++) {
+                task.accept(i);
+            }
+        });
+    }
+    
+    /**
+     * Reject series that have no most recent value to forecast from
+     */
+    private static void validate(double[][] series) {
+        for (int i = 0; i < series.length; i++) {
+            if (series[i] == null || series[i].length < 2) {
+                throw new IllegalArgumentException("Series " + i + " needs at least 2 historical data points");
+            }
+        }
+    }
+    
+    /**
+     * Use VectorBatchKernels if it was compiled and the incubator module is available, else scalar kernels
+     */
+    private static Kernels loadKernels() {
+        if (!Boolean.getBoolean("batchforecast.scalar")) {
+            try {
+                return (Kernels) Class.forName("VectorBatchKernels").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Not compiled, or jdk.incubator.vector not added: fall through to the scalar kernels
+            }
+        }
+        return new ScalarKernels();
+    }
+    
+    /**
+     * Compare per-series forecasting over FinancialData[] with the batch API on random series
+     * Usage: java BatchForecaster [series] [points] [periods]
+     */
+    public static void main(String[] args) {
+        int seriesCount = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int points = args.length > 1 ? Integer.parseInt(args[1]) : 120;
+        int periods = args.length > 2 ? Integer.parseInt(args[2]) : 12;
+        
+        Random random = new Random(42);
+        double[][] series = new double[seriesCount][points];
+        FinancialData[][] objects = new FinancialData[seriesCount][points];
+        LocalDate start = LocalDate.of(2015, 1, 1);
+        for (int s = 0; s < seriesCount; s++) {
+            double value = 100 + random.nextDouble() * 900;
+            for (int p = 0; p < points; p++) {
+                double growthRate = random.nextGaussian() * 2 + 0.5;
+                value *= 1 + growthRate / 100.0;
+                series[s][p] = value;
+                objects[s][p] = new FinancialData(start.plusMonths(p), value, growthRate);
+            }
+        }
+        
+        System.out.println("=== BATCH FORECASTING ===");
+        System.out.printf("Series: %,d | Points: %d | Periods: %d | Kernels: %s | Threads: %d%n%n",
+                        seriesCount, points, periods, isVectorized() ? "Vector API" : "scalar",
+                        ForkJoinPool.commonPool().getParallelism());
+        
+        double[] forecasts = new double[seriesCount * periods];
+        double[] futureValues = new double[seriesCount];
+        double maxDifference = 0;
+        for (int round = 0; round < 5; round++) {
+            long startTime = System.nanoTime();
+            forecast(series, periods, forecasts);
+            long batchTime = System.nanoTime() - startTime;
+            
+            startTime = System.nanoTime();
+            maxDifference = 0;
+            for (int s = 0; s < seriesCount; s++) {
+                double[] expected = RecursiveForecasting.forecastFromHistoricalData(objects[s], periods);
+                for (int p = 0; p < periods; p++) {
+                    maxDifference = Math.max(maxDifference, Math.abs(forecasts[s * periods + p] / expected[p] - 1));
+                }
+            }
+            long perSeriesTime = System.nanoTime() - startTime;
+            
+            startTime = System.nanoTime();
+            futureValues(series, periods, futureValues);
+            long futureValueTime = System.nanoTime() - startTime;
+            
+            System.out.printf("Round %d | Per-series: %7.2f ms | Batch forecast: %6.2f ms | Batch future values: %6.2f ms%n",
+                            round + 1, perSeriesTime / 1e6, batchTime / 1e6, futureValueTime / 1e6);
+        }
+        System.out.printf("%nLargest relative difference from per-series results: %.1e%n", maxDifference);
+        System.out.printf("Series 0 after %d periods: $%.2f%n", periods, futureValues[0]);
+    }
+    
+    /**
+     * Kernels interface implemented by the scalar and the Vector API loops over one series
+     */
+    public interface Kernels {
+        /**
+         * Average of ((v[i] - v[i-1]) / v[i-1]) × 100 over the periods with v[i-1] > 0, or 0 if there are none
+         */
+        double averageGrowthRate(double[] values);
+        
+        /**
+         * Write value × growthFactor^(p + 1) to out[from + p] for p in [0, periods)
+         */
+        void forecast(double value, double growthFactor, double[] out, int from, int periods);
+    }
+    
+    /**
+     * Scalar kernels; the same arithmetic as RecursiveForecasting, so their results are bit-identical
+     * The growth rate loop adds zero for skipped periods instead of branching
+     */
+    static final class ScalarKernels implements Kernels {
+        @Override
+        public double averageGrowthRate(double[] values) {
+            double totalGrowthRate = 0;
+            int count = 0;
+            for (int i = 1; i < values.length; i++) {
+                double previousValue = values[i - 1];
+                boolean usable = previousValue > 0;
+                totalGrowthRate += usable ? ((values[i] - previousValue) / previousValue) * 100 : 0;
+                count += usable ? 1 : 0;
+            }
+            return count > 0 ? totalGrowthRate / count : 0;
+        }
+        
+        @Override
+        public void forecast(double value, double growthFactor, double[] out, int from, int periods) {
+            for (int i = from; i < from + periods; i++) {
+                value *= growthFactor;
+                out[i] = value;
+            }
+        }
+    }
+} 
\ No newline at end of file
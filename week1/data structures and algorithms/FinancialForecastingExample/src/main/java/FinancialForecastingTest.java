@@ -1,3 +1,7 @@
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+
 /**
  * FinancialForecastingTest class demonstrating recursive algorithms for financial forecasting
  * Includes recursion explanation, algorithm analysis, and practical testing
@@ -186,6 +190,79 @@ public class FinancialForecastingTest {
         System.out.println();
     }
     
+    /**
+     * Test the closed-form engine on horizons the recursive versions cannot reach
+     * Errors are relative to a 60-digit BigDecimal result from the same double inputs
+     */
+    private static void testClosedFormEngine() {
+        System.out.println("Closed-Form Engine (Long Horizons):");
+        System.out.println("-".repeat(50));
+        
+        double initialValue = 10000.0;
+        double growthRate = 0.01;
+        MathContext context = new MathContext(60);
+        
+        for (int periods : new int[]{10, 360, 10_000, 1_000_000}) {
+            BigDecimal exact = ForecastEngine.futureValueExact(new BigDecimal(initialValue),
+                    new BigDecimal(growthRate), periods, context);
+            double[] series = ForecastEngine.forecastSeries(initialValue, growthRate, periods);
+            
+            System.out.printf("Periods: %,9d | Value: $%.6g%n", periods, exact.doubleValue());
+            System.out.printf("  Relative error - pow: %.1e | squaring: %.1e | compensated: %.1e | running multiply: %.1e%n",
+                            relativeError(ForecastEngine.futureValue(initialValue, growthRate, periods), exact),
+                            relativeError(ForecastEngine.futureValueBySquaring(initialValue, growthRate, periods), exact),
+                            relativeError(ForecastEngine.futureValueCompensated(initialValue, growthRate, periods), exact),
+                            relativeError(series[periods - 1], exact));
+        }
+        
+        try {
+            RecursiveForecasting.calculateFutureValueRecursive(initialValue, growthRate, 1_000_000);
+            System.out.println("Recursive version: completed 1,000,000 periods");
+        } catch (StackOverflowError e) {
+            System.out.println("Recursive version: StackOverflowError at 1,000,000 periods");
+        }
+        System.out.printf("Periods to double at %.2f%%: %d%n", growthRate,
+                        ForecastEngine.periodsToTarget(initialValue, initialValue * 2, growthRate));
+        System.out.println();
+    }
+    
+    /**
+     * Test forecasting from a columnar store and compare its memory use with FinancialData[]
+     */
+    private static void testTimeSeriesStore() {
+        System.out.println("Columnar Time-Series Store:");
+        System.out.println("-".repeat(50));
+        
+        FinancialData[] historicalData = RecursiveForecasting.generateSampleData();
+        TimeSeriesStore store = TimeSeriesStore.fromArray(historicalData);
+        TimeSeriesStore offHeapStore = TimeSeriesStore.fromArray(historicalData, true);
+        System.out.println(store);
+        System.out.println("Latest point: " + store.toDisplayString(store.size() - 1));
+        
+        double[] fromObjects = RecursiveForecasting.forecastFromHistoricalData(historicalData, 5);
+        double[] fromStore = RecursiveForecasting.forecastFromHistoricalData(store, 5);
+        double[] fromOffHeap = RecursiveForecasting.forecastFromHistoricalData(offHeapStore, 5);
+        System.out.printf("Forecasts match FinancialData[]: heap %s, off-heap %s%n",
+                        Arrays.equals(fromObjects, fromStore) ? "✓ Yes" : "✗ No",
+                        Arrays.equals(fromObjects, fromOffHeap) ? "✓ Yes" : "✗ No");
+        
+        // 10 years of daily points for 50,000 instruments
+        long points = 3650L * 50_000;
+        // FinancialData object (32 bytes) + LocalDate object (24 bytes) + array reference (4 bytes)
+        // with compressed references on a 64-bit JVM
+        System.out.printf("Memory for %,d points: FinancialData[] about %.1f GB, columns %.1f GB%n",
+                        points, points * 60 / 1e9, points * 20 / 1e9);
+        System.out.println();
+    }
+    
+    /**
+     * Relative error of a double result against a reference
+     */
+    private static double relativeError(double value, BigDecimal exact) {
+        return new BigDecimal(value).subtract(exact)
+                .divide(exact, MathContext.DECIMAL64).abs().doubleValue();
+    }
+    
     /**
      * Analyze and compare the algorithms
      */
@@ -219,6 +296,12 @@ public class FinancialForecastingTest {
         // Test target period finding
         testTargetPeriods();
         
+        // Test closed-form engine on long horizons
+        testClosedFormEngine();
+        
+        // Test columnar time-series store
+        testTimeSeriesStore();
+        
         // Performance comparison with larger datasets
         System.out.println("Performance Comparison with Larger Datasets:");
         System.out.println("-".repeat(50));
@@ -240,6 +323,7 @@ public class FinancialForecastingTest {
         System.out.println("Cache Management:");
         System.out.println("-".repeat(50));
         System.out.printf("Cache size before clearing: %d entries%n", RecursiveForecasting.getCacheSize());
+        System.out.println("Cache statistics: " + RecursiveForecasting.getCacheStats());
         RecursiveForecasting.clearCache();
         System.out.printf("Cache size after clearing: %d entries%n", RecursiveForecasting.getCacheSize());
         System.out.println();
@@ -0,0 +1,283 @@
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ForecastCache class memoizing forecast results by (current value, growth rate, periods)
+ * The key is kept as primitives (the raw bits of both doubles and the period count) in parallel arrays,
+ * so a lookup allocates nothing: no formatted string key and no boxed Double
+ * Entries live in sets of WAYS slots chosen by a hash of the key; a full set evicts with the CLOCK
+ * algorithm (an LRU approximation: a slot read since the hand last passed gets a second chance),
+ * which bounds the cache at its capacity however long the application runs
+ * Sets are guarded by a fixed number of striped locks, so threads working on different keys rarely contend
+ */
+public class ForecastCache {
+    private static final int WAYS = 8;
+    private static final int LOCK_STRIPES = 64;
+    
+    private final int setMask;
+    private final long[] valueBits;
+    private final long[] rateBits;
+    private final int[] periods;
+    private final double[] results;
+    private final boolean[] occupied;
+    private final boolean[] referenced;
+    private final byte[] clockHands;
+    private final Object[] locks;
+    
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    /**
+     * Constructor for ForecastCache
+     * @param capacity Maximum number of entries, rounded up to a power of two (at least WAYS)
+     */
+    public ForecastCache(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+        }
+        int sets = 1;
+        while ((long) sets * WAYS < capacity) {
+            sets <<= 1;
+        }
+        int slots = sets * WAYS;
+        this.setMask = sets - 1;
+        this.valueBits = new long[slots];
+        this.rateBits = new long[slots];
+        this.periods = new int[slots];
+        this.results = new double[slots];
+        this.occupied = new boolean[slots];
+        this.referenced = new boolean[slots];
+        this.clockHands = new byte[sets];
+        this.locks = new Object[Math.min(LOCK_STRIPES, sets)];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+    
+    /**
+     * Get a cached forecast
+     * Time Complexity: O(WAYS) = O(1)
+     * 
+     * @param currentValue Current financial value
+     * @param growthRate Growth rate as percentage
+     * @param periodCount Number of periods
+     * @return Cached future value, or Double.NaN if not cached
+     */
+    public double get(double currentValue, double growthRate, int periodCount) {
+        long value = Double.doubleToLongBits(currentValue);
+        long rate = Double.doubleToLongBits(growthRate);
+        int set = setIndex(value, rate, periodCount);
+        synchronized (locks[set & (locks.length - 1)]) {
+            int slot = find(set, value, rate, periodCount);
+            if (slot >= 0) {
+                referenced[slot] = true;
+                hits.increment();
+                return results[slot];
+            }
+        }
+        misses.increment();
+        return Double.NaN;
+    }
+    
+    /**
+     * Cache a forecast, replacing the result already stored for the same key
+     * A NaN result is not stored, since get uses NaN to report a miss
+     * Time Complexity: O(WAYS) = O(1)
+     * 
+     * @param currentValue Current financial value
+     * @param growthRate Growth rate as percentage
+     * @param periodCount Number of periods
+     * @param result Future value to cache
+     */
+    public void put(double currentValue, double growthRate, int periodCount, double result) {
+        if (Double.isNaN(result)) {
+            return;
+        }
+        long value = Double.doubleToLongBits(currentValue);
+        long rate = Double.doubleToLongBits(growthRate);
+        int set = setIndex(value, rate, periodCount);
+        synchronized (locks[set & (locks.length - 1)]) {
+            int slot = find(set, value, rate, periodCount);
+            if (slot < 0) {
+                slot = claimSlot(set);
+                valueBits[slot] = value;
+                rateBits[slot] = rate;
+                periods[slot] = periodCount;
+            }
+            results[slot] = result;
+            referenced[slot] = true;
+        }
+    }
+    
+    /**
+     * Remove every entry (statistics are kept)
+     */
+    public void clear() {
+        for (int stripe = 0; stripe < locks.length; stripe++) {
+            synchronized (locks[stripe]) {
+                for (int set = stripe; set <= setMask; set += locks.length) {
+                    int cleared = 0;
+                    for (int slot = set * WAYS; slot < (set + 1) * WAYS; slot++) {
+                        cleared += occupied[slot] ? 1 : 0;
+                        occupied[slot] = false;
+                        referenced[slot] = false;
+                    }
+                    size.addAndGet(-cleared);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Get number of cached entries
+     * @return Entry count
+     */
+    public int size() {
+        return size.get();
+    }
+    
+    /**
+     * Get maximum number of entries
+     * @return Capacity
+     */
+    public int capacity() {
+        return results.length;
+    }
+    
+    /**
+     * Get a snapshot of the cache statistics
+     * @return Size, capacity, hits, misses and evictions at the time of the call
+     */
+    public Stats getStats() {
+        return new Stats(size.get(), results.length, hits.sum(), misses.sum(), evictions.sum());
+    }
+    
+    @Override
+    public String toString() {
+        return getStats().toString();
+    }
+    
+    /**
+     * Find the slot holding a key within its set
+     * @return Slot index, or -1 if the key is not cached
+     */
+    private int find(int set, long value, long rate, int periodCount) {
+        for (int slot = set * WAYS; slot < (set + 1) * WAYS; slot++) {
+            if (occupied[slot] && valueBits[slot] == value && rateBits[slot] == rate && periods[slot] == periodCount) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Take a free slot in the set, or evict one with the clock hand
+     * The hand clears reference bits as it passes and stops at the first slot not read since its last pass
+     */
+    private int claimSlot(int set) {
+        int first = set * WAYS;
+        for (int slot = first; slot < first + WAYS; slot++) {
+            if (!occupied[slot]) {
+                occupied[slot] = true;
+                size.incrementAndGet();
+                return slot;
+            }
+        }
+        int hand = clockHands[set];
+        while (referenced[first + hand]) {
+            referenced[first + hand] = false;
+            hand = (hand + 1) & (WAYS - 1);
+        }
+        clockHands[set] = (byte) ((hand + 1) & (WAYS - 1));
+        evictions.increment();
+        return first + hand;
+    }
+    
+    /**
+     * Pick the set for a key by mixing all of its bits
+     */
+    private int setIndex(long value, long rate, int periodCount) {
+        long hash = value * 0x9E3779B97F4A7C15L;
+        hash ^= Long.rotateLeft(rate * 0xC2B2AE3D27D4EB4FL, 29);
+        hash ^= periodCount * 0x165667B19E3779F9L;
+        hash ^= hash >>> 32;
+        hash *= 0xD6E8FEB86659FD93L;
+        return (int) (hash ^ (hash >>> 32)) & setMask;
+    }
+    
+    /**
+     * Stats class holding a snapshot of the cache counters
+     */
+    public static final class Stats {
+        private final int size;
+        private final int capacity;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        
+        private Stats(int size, int capacity, long hits, long misses, long evictions) {
+            this.size = size;
+            this.capacity = capacity;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+        }
+        
+        /**
+         * Get number of cached entries
+         * @return Entry count
+         */
+        public int getSize() {
+            return size;
+        }
+        
+        /**
+         * Get maximum number of entries
+         * @return Capacity
+         */
+        public int getCapacity() {
+            return capacity;
+        }
+        
+        /**
+         * Get number of lookups answered from the cache
+         * @return Hit count
+         */
+        public long getHits() {
+            return hits;
+        }
+        
+        /**
+         * Get number of lookups that found nothing
+         * @return Miss count
+         */
+        public long getMisses() {
+            return misses;
+        }
+        
+        /**
+         * Get number of entries replaced to stay within capacity
+         * @return Eviction count
+         */
+        public long getEvictions() {
+            return evictions;
+        }
+        
+        /**
+         * Get fraction of lookups answered from the cache
+         * @return Hit ratio between 0 and 1
+         */
+        public double getHitRatio() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("ForecastCache{Size=%d/%d, Hits=%d, Misses=%d, HitRatio=%.1f%%, Evictions=%d}",
+                               size, capacity, hits, misses, getHitRatio() * 100, evictions);
+        }
+    }
+} 
\ No newline at end of file
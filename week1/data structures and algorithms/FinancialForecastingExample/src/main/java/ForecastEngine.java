@@ -0,0 +1,202 @@
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * ForecastEngine class computing constant-rate forecasts without recursion
+ * A constant growth rate makes the forecast value × (1 + rate/100)^n, so a single forecast needs
+ * one power (O(1) with Math.pow, O(log n) by squaring) and a whole series needs one multiply per period
+ * Nothing here recurses, so any horizon runs in constant stack space
+ */
+public class ForecastEngine {
+    
+    /**
+     * Future value using Math.pow
+     * Time Complexity: O(1)
+     * Space Complexity: O(1)
+     * 
+     * @param currentValue Current financial value
+     * @param growthRate Growth rate as percentage (e.g., 5.0 for 5%)
+     * @param periods Number of periods to forecast (0 or less returns currentValue)
+     * @return Future value after specified periods
+     */
+    public static double futureValue(double currentValue, double growthRate, int periods) {
+        if (periods <= 0) {
+            return currentValue;
+        }
+        return currentValue * Math.pow(growthFactor(growthRate), periods);
+    }
+    
+    /**
+     * Future value using exponentiation by squaring
+     * Squares the growth factor once per bit of periods and multiplies in the set bits
+     * Time Complexity: O(log n)
+     * Space Complexity: O(1)
+     * 
+     * @param currentValue Current financial value
+     * @param growthRate Growth rate as percentage
+     * @param periods Number of periods to forecast (0 or less returns currentValue)
+     * @return Future value after specified periods
+     */
+    public static double futureValueBySquaring(double currentValue, double growthRate, int periods) {
+        if (periods <= 0) {
+            return currentValue;
+        }
+        return currentValue * power(growthFactor(growthRate), periods);
+    }
+    
+    /**
+     * Future value by squaring in double-double arithmetic (a compensated hi + lo pair, about 32 digits)
+     * The rounding error of each multiply is recovered exactly with Math.fma and carried along, so the
+     * result stays correctly rounded even after millions of periods
+     * Time Complexity: O(log n)
+     * Space Complexity: O(1)
+     * 
+     * @param currentValue Current financial value
+     * @param growthRate Growth rate as percentage
+     * @param periods Number of periods to forecast (0 or less returns currentValue)
+     * @return Future value after specified periods
+     */
+    public static double futureValueCompensated(double currentValue, double growthRate, int periods) {
+        if (periods <= 0) {
+            return currentValue;
+        }
+        // Growth factor 1 + growthRate / 100 as hi + lo, including the rounding error of the division
+        double quotient = growthRate / 100.0;
+        double quotientError = Math.fma(-quotient, 100.0, growthRate) / 100.0;
+        double baseHi = 1.0 + quotient;
+        double baseLo = (quotient - (baseHi - 1.0)) + quotientError;
+        
+        double resultHi = 1.0;
+        double resultLo = 0.0;
+        for (int n = periods; n > 0; n >>>= 1) {
+            if ((n & 1) != 0) {
+                double hi = resultHi * baseHi;
+                double lo = Math.fma(resultHi, baseHi, -hi) + (resultHi * baseLo + resultLo * baseHi);
+                resultHi = hi + lo;
+                resultLo = lo - (resultHi - hi);
+            }
+            if (n > 1) {
+                double hi = baseHi * baseHi;
+                double lo = Math.fma(baseHi, baseHi, -hi) + 2 * baseHi * baseLo;
+                baseHi = hi + lo;
+                baseLo = lo - (baseHi - hi);
+            }
+        }
+        double hi = currentValue * resultHi;
+        return hi + (Math.fma(currentValue, resultHi, -hi) + currentValue * resultLo);
+    }
+    
+    /**
+     * Future value in decimal arithmetic
+     * BigDecimal.pow uses repeated squaring, rounding each step to the given precision
+     * Time Complexity: O(log n) multiplications of precision-digit numbers
+     * 
+     * @param currentValue Current financial value
+     * @param growthRate Growth rate as percentage, e.g. new BigDecimal("5.25")
+     * @param periods Number of periods to forecast (0 or less returns currentValue)
+     * @param context Precision of the result, e.g. MathContext.DECIMAL128
+     * @return Future value after specified periods
+     */
+    public static BigDecimal futureValueExact(BigDecimal currentValue, BigDecimal growthRate, int periods,
+                                              MathContext context) {
+        if (periods <= 0) {
+            return currentValue.round(context);
+        }
+        BigDecimal factor = BigDecimal.ONE.add(growthRate.movePointLeft(2));
+        return currentValue.multiply(factor.pow(periods, context), context);
+    }
+    
+    /**
+     * Forecast every period from 1 to n with one running multiply
+     * Each value is the previous one times the growth factor, which is exactly the sequence of
+     * multiplications calculateFutureValueRecursive performs, so the results are identical
+     * Time Complexity: O(n)
+     * Space Complexity: O(n) for the output array only
+     * 
+     * @param currentValue Current financial value
+     * @param growthRate Growth rate as percentage
+     * @param periods Number of periods to forecast
+     * @return Forecasted values; element i is the value after i + 1 periods
+     */
+    public static double[] forecastSeries(double currentValue, double growthRate, int periods) {
+        double[] forecast = new double[Math.max(0, periods)];
+        double growthFactor = growthFactor(growthRate);
+        double value = currentValue;
+        for (int i = 0; i < forecast.length; i++) {
+            value *= growthFactor;
+            forecast[i] = value;
+        }
+        return forecast;
+    }
+    
+    /**
+     * Future value with a different growth rate for each period, as a loop
+     * Time Complexity: O(n)
+     * Space Complexity: O(1)
+     * 
+     * @param currentValue Current financial value
+     * @param growthRates Growth rate as percentage for each period
+     * @return Future value after all periods
+     */
+    public static double forecastWithVariableRates(double currentValue, double[] growthRates) {
+        double value = currentValue;
+        for (double growthRate : growthRates) {
+            value *= growthFactor(growthRate);
+        }
+        return value;
+    }
+    
+    /**
+     * Number of periods needed to reach a target value, from logarithms
+     * The estimate ceil(log(target / current) / log(factor)) can be off by one through rounding,
+     * so it is corrected to the smallest n whose value × factor^n reaches the target
+     * Time Complexity: O(log n) - one squaring power per correction step
+     * 
+     * @param currentValue Current financial value
+     * @param targetValue Target value to reach
+     * @param growthRate Growth rate as percentage
+     * @return Number of periods needed to reach target, or -1 if not reachable
+     */
+    public static int periodsToTarget(double currentValue, double targetValue, double growthRate) {
+        if (currentValue >= targetValue) {
+            return 0;
+        }
+        if (growthRate <= 0 || currentValue <= 0) {
+            return -1;
+        }
+        double growthFactor = growthFactor(growthRate);
+        double estimate = Math.ceil(Math.log(targetValue / currentValue) / Math.log(growthFactor));
+        if (!(estimate < Integer.MAX_VALUE)) {
+            return -1;
+        }
+        int periods = Math.max(1, (int) estimate);
+        while (periods > 1 && currentValue * power(growthFactor, periods - 1) >= targetValue) {
+            periods--;
+        }
+        while (currentValue * power(growthFactor, periods) < targetValue) {
+            periods++;
+        }
+        return periods;
+    }
+    
+    /**
+     * Growth factor for a percentage rate
+     */
+    private static double growthFactor(double growthRate) {
+        return 1 + (growthRate / 100.0);
+    }
+    
+    /**
+     * base^exponent by repeated squaring, for exponent >= 0
+     */
+    private static double power(double base, int exponent) {
+        double result = 1.0;
+        for (int n = exponent; n > 0; n >>>= 1) {
+            if ((n & 1) != 0) {
+                result *= base;
+            }
+            base *= base;
+        }
+        return result;
+    }
+} 
\ No newline at end of file
@@ -1,7 +1,6 @@
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.function.IntToDoubleFunction;
 
 /**
  * RecursiveForecasting class implementing recursive algorithms for financial forecasting
@@ -9,13 +8,17 @@ import java.util.Map;
  */
 public class RecursiveForecasting {
     
-    // Cache for memoization to avoid excessive computation
-    private static Map<String, Double> forecastCache = new HashMap<>();
+    // Maximum number of memoized results kept by forecastCache
+    public static final int CACHE_CAPACITY = 16_384;
+    
+    // Cache for memoization to avoid excessive computation (bounded, thread-safe, keyed by primitives)
+    private static final ForecastCache forecastCache = new ForecastCache(CACHE_CAPACITY);
     
     /**
      * Basic recursive method to calculate future value
      * Time Complexity: O(2^n) - Exponential due to repeated calculations
-     * Space Complexity: O(n) - Stack space for recursion depth
+     * Space Complexity: O(n) - Stack space for recursion depth (very long horizons overflow the stack;
+     * ForecastEngine.futureValue computes the same value in O(1))
      * 
      * @param currentValue Current financial value
      * @param growthRate Growth rate as percentage (e.g., 5.0 for 5%)
@@ -38,8 +41,9 @@ public class RecursiveForecasting {
     
     /**
      * Optimized recursive method using memoization
+     * Results are keyed by the exact value, rate and periods, so different inputs never share an entry
      * Time Complexity: O(n) - Linear due to caching
-     * Space Complexity: O(n) - Cache space + stack space
+     * Space Complexity: O(n) - Cache space (at most CACHE_CAPACITY entries) + stack space
      * 
      * @param currentValue Current financial value
      * @param growthRate Growth rate as percentage
@@ -47,17 +51,15 @@ public class RecursiveForecasting {
      * @return Future value after specified periods
      */
     public static double calculateFutureValueOptimized(double currentValue, double growthRate, int periods) {
-        // Create cache key for memoization
-        String cacheKey = String.format("%.2f_%.2f_%d", currentValue, growthRate, periods);
-        
-        // Check if result is already cached
-        if (forecastCache.containsKey(cacheKey)) {
-            return forecastCache.get(cacheKey);
+        // Check if result is already cached (NaN means not cached)
+        double cached = forecastCache.get(currentValue, growthRate, periods);
+        if (!Double.isNaN(cached)) {
+            return cached;
         }
         
         // Base case: if no periods left, return current value
         if (periods <= 0) {
-            forecastCache.put(cacheKey, currentValue);
+            forecastCache.put(currentValue, growthRate, periods, currentValue);
             return currentValue;
         }
         
@@ -69,13 +71,15 @@ public class RecursiveForecasting {
         double result = calculateFutureValueOptimized(nextValue, growthRate, periods - 1);
         
         // Cache the result
-        forecastCache.put(cacheKey, result);
+        forecastCache.put(currentValue, growthRate, periods, result);
         return result;
     }
     
     /**
-     * Recursive method to forecast based on historical data
-     * Uses average growth rate from historical data
+     * Forecast based on historical data
+     * Uses average growth rate from historical data; the series is filled by ForecastEngine with one
+     * running multiply per period instead of a separate recursive forecast for each period
+     * Time Complexity: O(h + n) for h historical points and n periods
      * 
      * @param historicalData Array of historical financial data
      * @param periods Number of periods to forecast
@@ -92,13 +96,32 @@ public class RecursiveForecasting {
         // Get the most recent value
         double currentValue = historicalData[historicalData.length - 1].getValue();
         
-        // Generate forecast using optimized recursive method
-        double[] forecast = new double[periods];
-        for (int i = 0; i < periods; i++) {
-            forecast[i] = calculateFutureValueOptimized(currentValue, avgGrowthRate, i + 1);
+        // Each period is the previous one times the growth factor
+        return ForecastEngine.forecastSeries(currentValue, avgGrowthRate, periods);
+    }
+    
+    /**
+     * Forecast based on historical data held in a columnar store
+     * Reads the value column directly, without materializing FinancialData objects
+     * Time Complexity: O(h + n) for h historical points and n periods
+     * 
+     * @param historicalData Columnar historical financial data
+     * @param periods Number of periods to forecast
+     * @return Array of forecasted values
+     */
+    public static double[] forecastFromHistoricalData(TimeSeriesStore historicalData, int periods) {
+        if (historicalData == null || historicalData.size() < 2) {
+            throw new IllegalArgumentException("Need at least 2 historical data points");
         }
         
-        return forecast;
+        // Calculate average growth rate from historical data
+        double avgGrowthRate = calculateAverageGrowthRate(historicalData);
+        
+        // Get the most recent value
+        double currentValue = historicalData.getValue(historicalData.size() - 1);
+        
+        // Each period is the previous one times the growth factor
+        return ForecastEngine.forecastSeries(currentValue, avgGrowthRate, periods);
     }
     
     /**
@@ -108,12 +131,34 @@ public class RecursiveForecasting {
      * @return Average growth rate as percentage
      */
     private static double calculateAverageGrowthRate(FinancialData[] historicalData) {
+        return calculateAverageGrowthRate(historicalData.length, i -> historicalData[i].getValue());
+    }
+    
+    /**
+     * Calculate average growth rate from historical data held in a columnar store
+     * Same loop as the FinancialData[] version, so the results are identical
+     * 
+     * @param historicalData Columnar historical financial data
+     * @return Average growth rate as percentage
+     */
+    private static double calculateAverageGrowthRate(TimeSeriesStore historicalData) {
+        return calculateAverageGrowthRate(historicalData.size(), historicalData::getValue);
+    }
+    
+    /**
+     * Calculate average growth rate over values read by index, shared by both data layouts
+     * 
+     * @param size Number of historical data points
+     * @param valueAt Financial value of the point at an index
+     * @return Average growth rate as percentage
+     */
+    private static double calculateAverageGrowthRate(int size, IntToDoubleFunction valueAt) {
         double totalGrowthRate = 0;
         int count = 0;
         
-        for (int i = 1; i < historicalData.length; i++) {
-            double previousValue = historicalData[i - 1].getValue();
-            double currentValue = historicalData[i].getValue();
+        for (int i = 1; i < size; i++) {
+            double previousValue = valueAt.applyAsDouble(i - 1);
+            double currentValue = valueAt.applyAsDouble(i);
             
             if (previousValue > 0) {
                 double growthRate = ((currentValue - previousValue) / previousValue) * 100;
@@ -185,13 +230,21 @@ public class RecursiveForecasting {
     }
     
     /**
-     * Get cache statistics
+     * Get number of cached entries
      * @return Number of cached entries
      */
     public static int getCacheSize() {
         return forecastCache.size();
     }
     
+    /**
+     * Get cache statistics
+     * @return Snapshot of size, capacity, hits, misses and evictions
+     */
+    public static ForecastCache.Stats getCacheStats() {
+        return forecastCache.getStats();
+    }
+    
     /**
      * Generate sample historical data for testing
      * @return Array of sample financial data
@@ -0,0 +1,265 @@
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * StreamingForecaster class keeping growth-rate statistics and a forecast up to date as ticks arrive
+ * Each tick adds one period growth rate to running aggregates (sum and count for the average,
+ * Welford's mean and sum of squared deviations for the variance, and an exponentially weighted
+ * moving average), so an append costs O(1) however long the history is
+ * Growth rates follow RecursiveForecasting: ((value - previous) / previous) × 100, skipped when the
+ * previous value is not positive; the average is summed in the same order, so the average growth
+ * rate matches RecursiveForecasting's exactly
+ * The forecast is one Math.pow per tick rather than forecastFromHistoricalData's running multiply,
+ * so the two agree only to within rounding (relative differences of order 1e-15)
+ */
+public class StreamingForecaster {
+    private final int horizon;
+    private final double smoothing;
+    
+    private long ticks;
+    private LocalDate lastDate;
+    private double lastValue;
+    
+    private int count;
+    private double totalGrowthRate;
+    private double mean;
+    private double sumSquaredDeviations;
+    private double ewmaGrowthRate;
+    private double forecast;
+    
+    /**
+     * Constructor for StreamingForecaster
+     * @param horizon Number of periods ahead the maintained forecast looks
+     * @param smoothing EWMA weight of the newest growth rate, between 0 (exclusive) and 1 (inclusive)
+     */
+    public StreamingForecaster(int horizon, double smoothing) {
+        if (horizon < 0) {
+            throw new IllegalArgumentException("Horizon cannot be negative: " + horizon);
+        }
+        if (!(smoothing > 0 && smoothing <= 1)) {
+            throw new IllegalArgumentException("Smoothing must be in (0, 1]: " + smoothing);
+        }
+        this.horizon = horizon;
+        this.smoothing = smoothing;
+    }
+    
+    /**
+     * Append the next tick and update every aggregate and the forecast
+     * Time Complexity: O(1)
+     * 
+     * @param tick Financial data point, not older than the previous tick
+     */
+    public synchronized void append(FinancialData tick) {
+        if (lastDate != null && tick.getDate().isBefore(lastDate)) {
+            throw new IllegalArgumentException("Tick " + tick.getDate() + " is older than " + lastDate);
+        }
+        if (ticks > 0 && lastValue > 0) {
+            addGrowthRate(((tick.getValue() - lastValue) / lastValue) * 100);
+        }
+        ticks++;
+        lastDate = tick.getDate();
+        lastValue = tick.getValue();
+        // Closed form keeps the update O(1); it can differ from the running multiply in the last bits
+        forecast = ForecastEngine.futureValue(lastValue, getAverageGrowthRate(), horizon);
+    }
+    
+    /**
+     * Append every point of a history, oldest first
+     * @param history Financial data points
+     */
+    public synchronized void appendAll(FinancialData[] history) {
+        for (FinancialData tick : history) {
+            append(tick);
+        }
+    }
+    
+    /**
+     * Get the forecast for the configured horizon, as of the latest tick
+     * Time Complexity: O(1) - updated by append
+     * 
+     * @return Latest value grown at the average growth rate for horizon periods
+     */
+    public synchronized double getForecast() {
+        requireData();
+        return forecast;
+    }
+    
+    /**
+     * Forecast any number of periods ahead at the average growth rate
+     * Time Complexity: O(1)
+     * 
+     * @param periods Number of periods to forecast
+     * @return Future value after specified periods
+     */
+    public synchronized double getForecast(int periods) {
+        requireData();
+        return ForecastEngine.futureValue(lastValue, getAverageGrowthRate(), periods);
+    }
+    
+    /**
+     * Forecast at the EWMA growth rate, which follows recent changes in growth faster than the average
+     * Time Complexity: O(1)
+     * 
+     * @param periods Number of periods to forecast
+     * @return Future value after specified periods
+     */
+    public synchronized double getEwmaForecast(int periods) {
+        requireData();
+        return ForecastEngine.futureValue(lastValue, ewmaGrowthRate, periods);
+    }
+    
+    /**
+     * Get the average growth rate over every usable period so far
+     * @return Average growth rate as percentage, or 0 before the first usable period
+     */
+    public synchronized double getAverageGrowthRate() {
+        return count > 0 ? totalGrowthRate / count : 0;
+    }
+    
+    /**
+     * Get the sample variance of the growth rates (Welford's algorithm, stable for long streams)
+     * @return Variance in squared percentage points, or 0 with fewer than 2 periods
+     */
+    public synchronized double getGrowthRateVariance() {
+        return count > 1 ? sumSquaredDeviations / (count - 1) : 0;
+    }
+    
+    /**
+     * Get the sample standard deviation of the growth rates
+     * @return Standard deviation in percentage points
+     */
+    public synchronized double getGrowthRateStandardDeviation() {
+        return Math.sqrt(getGrowthRateVariance());
+    }
+    
+    /**
+     * Get the exponentially weighted moving average of the growth rates
+     * @return EWMA growth rate as percentage, or 0 before the first usable period
+     */
+    public synchronized double getEwmaGrowthRate() {
+        return ewmaGrowthRate;
+    }
+    
+    /**
+     * Get number of ticks appended
+     * @return Tick count
+     */
+    public synchronized long getTickCount() {
+        return ticks;
+    }
+    
+    /**
+     * Get number of periods that contributed a growth rate
+     * @return Period count
+     */
+    public synchronized int getPeriodCount() {
+        return count;
+    }
+    
+    /**
+     * Get the most recent value
+     * @return Value of the latest tick
+     */
+    public synchronized double getLatestValue() {
+        requireData();
+        return lastValue;
+    }
+    
+    /**
+     * Get the forecast horizon
+     * @return Number of periods ahead getForecast() looks
+     */
+    public int getHorizon() {
+        return horizon;
+    }
+    
+    /**
+     * String representation of the current state
+     * @return Formatted string
+     */
+    @Override
+    public synchronized String toString() {
+        return String.format("StreamingForecaster{Ticks=%d, AvgGrowth=%.4f%%, StdDev=%.4f%%, EWMA=%.4f%%, Forecast(%d)=%.2f}",
+                           ticks, getAverageGrowthRate(), getGrowthRateStandardDeviation(), ewmaGrowthRate,
+                           horizon, ticks > 0 ? forecast : Double.NaN);
+    }
+    
+    /**
+     * Add one period growth rate to the sum, Welford's mean and squared deviations, and the EWMA
+     */
+    private void addGrowthRate(double growthRate) {
+        count++;
+        totalGrowthRate += growthRate;
+        double delta = growthRate - mean;
+        mean += delta / count;
+        sumSquaredDeviations += delta * (growthRate - mean);
+        ewmaGrowthRate = count == 1 ? growthRate : ewmaGrowthRate + smoothing * (growthRate - ewmaGrowthRate);
+    }
+    
+    /**
+     * Reject forecasts before the first tick
+     */
+    private void requireData() {
+        if (ticks == 0) {
+            throw new IllegalStateException("No data appended yet");
+        }
+    }
+    
+    /**
+     * Compare refreshing a forecast per tick by recomputing history with the streaming update
+     * Usage: java StreamingForecaster [ticks] [horizon]
+     */
+    public static void main(String[] args) {
+        int tickCount = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int horizon = args.length > 1 ? Integer.parseInt(args[1]) : 12;
+        if (horizon < 1) {
+            throw new IllegalArgumentException("Horizon must be at least 1 period to compare forecasts: " + horizon);
+        }
+        
+        Random random = new Random(7);
+        FinancialData[] ticks = new FinancialData[tickCount];
+        LocalDate date = LocalDate.of(2000, 1, 3);
+        double value = 1000;
+        for (int i = 0; i < tickCount; i++) {
+            double growthRate = random.nextGaussian() * 0.5 + (i < tickCount / 2 ? 0.01 : 0.04);
+            value *= 1 + growthRate / 100.0;
+            ticks[i] = new FinancialData(date.plusDays(i), value, growthRate);
+        }
+        
+        System.out.println("=== STREAMING FORECAST UPDATES ===");
+        System.out.printf("Ticks: %,d | Horizon: %d periods%n%n", tickCount, horizon);
+        
+        // Recompute from the whole history on every tick
+        List<FinancialData> history = new ArrayList<>();
+        double recomputed = 0;
+        long startTime = System.nanoTime();
+        for (FinancialData tick : ticks) {
+            history.add(tick);
+            if (history.size() >= 2) {
+                double[] forecast = RecursiveForecasting.forecastFromHistoricalData(
+                        history.toArray(new FinancialData[0]), horizon);
+                recomputed = forecast[horizon - 1];
+            }
+        }
+        long recomputeTime = System.nanoTime() - startTime;
+        
+        // Update running aggregates on every tick
+        StreamingForecaster forecaster = new StreamingForecaster(horizon, 0.05);
+        startTime = System.nanoTime();
+        for (FinancialData tick : ticks) {
+            forecaster.append(tick);
+        }
+        long streamingTime = System.nanoTime() - startTime;
+        
+        System.out.printf("Recompute per tick: %9.2f ms (%,.0f ns/tick)%n", recomputeTime / 1e6, (double) recomputeTime / tickCount);
+        System.out.printf("Streaming per tick: %9.2f ms (%,.0f ns/tick)%n", streamingTime / 1e6, (double) streamingTime / tickCount);
+        System.out.printf("Speedup: %.0fx%n%n", (double) recomputeTime / streamingTime);
+        
+        System.out.println(forecaster);
+        System.out.printf("Final forecast - recomputed: $%.2f | streaming: $%.2f | relative difference: %.1e%n",
+                        recomputed, forecaster.getForecast(), Math.abs(forecaster.getForecast() / recomputed - 1));
+        System.out.printf("EWMA forecast (recent ticks weigh more): $%.2f%n", forecaster.getEwmaForecast(horizon));
+    }
+} 
\ No newline at end of file
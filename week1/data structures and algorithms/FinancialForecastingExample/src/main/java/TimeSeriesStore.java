@@ -0,0 +1,289 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * TimeSeriesStore class holding a financial time series as columns instead of FinancialData objects
+ * Point i is (epochDays[i], values[i], growthRates[i]): an int and two doubles, 20 bytes in total,
+ * where a FinancialData point costs a FinancialData object, a LocalDate object and an array reference
+ * On the heap the columns are plain int[] and double[] arrays; off-heap they live in direct buffers
+ * outside the garbage-collected heap (freed when the store becomes unreachable)
+ * Per-point accessors mirror FinancialData with an index argument
+ */
+public class TimeSeriesStore {
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    
+    private final boolean offHeap;
+    private IntBuffer epochDays;
+    private DoubleBuffer values;
+    private DoubleBuffer growthRates;
+    private int size;
+    
+    /**
+     * Constructor for an empty heap store
+     * @param initialCapacity Number of points to reserve room for
+     */
+    public TimeSeriesStore(int initialCapacity) {
+        this(initialCapacity, false);
+    }
+    
+    /**
+     * Constructor for an empty store
+     * @param initialCapacity Number of points to reserve room for
+     * @param offHeap True to keep the columns in direct (off-heap) buffers
+     */
+    public TimeSeriesStore(int initialCapacity, boolean offHeap) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative: " + initialCapacity);
+        }
+        this.offHeap = offHeap;
+        allocate(Math.max(initialCapacity, 1));
+    }
+    
+    /**
+     * Copy FinancialData points into a new heap store
+     * @param data Financial data points, oldest first
+     * @return Store with the same dates, values and growth rates
+     */
+    public static TimeSeriesStore fromArray(FinancialData[] data) {
+        return fromArray(data, false);
+    }
+    
+    /**
+     * Copy FinancialData points into a new store
+     * @param data Financial data points, oldest first
+     * @param offHeap True to keep the columns in direct (off-heap) buffers
+     * @return Store with the same dates, values and growth rates
+     */
+    public static TimeSeriesStore fromArray(FinancialData[] data, boolean offHeap) {
+        TimeSeriesStore store = new TimeSeriesStore(data.length, offHeap);
+        for (FinancialData point : data) {
+            store.append(point.getDate(), point.getValue(), point.getGrowthRate());
+        }
+        return store;
+    }
+    
+    /**
+     * Append a point, growing the columns when they are full
+     * Time Complexity: O(1) amortized
+     * 
+     * @param date The date of the financial data point
+     * @param value The financial value at this date
+     * @param growthRate The growth rate (as a percentage, e.g., 5.0 for 5%)
+     */
+    public void append(LocalDate date, double value, double growthRate) {
+        append(Math.toIntExact(date.toEpochDay()), value, growthRate);
+    }
+    
+    /**
+     * Append a point with a string date
+     * @param dateStr Date string in "yyyy-MM-dd" format
+     * @param value The financial value at this date
+     * @param growthRate The growth rate (as a percentage)
+     */
+    public void append(String dateStr, double value, double growthRate) {
+        append(LocalDate.parse(dateStr, DATE_FORMAT), value, growthRate);
+    }
+    
+    /**
+     * Append a point dated by days since 1970-01-01
+     * @param epochDay The date as an epoch day
+     * @param value The financial value at this date
+     * @param growthRate The growth rate (as a percentage)
+     */
+    public void append(int epochDay, double value, double growthRate) {
+        if (size == values.capacity()) {
+            allocate(Math.max(size + 1, size + (size >> 1)));
+        }
+        epochDays.put(size, epochDay);
+        values.put(size, value);
+        growthRates.put(size, growthRate);
+        size++;
+    }
+    
+    /**
+     * Get number of points
+     * @return Point count
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Check where the columns are kept
+     * @return True if the columns are direct (off-heap) buffers
+     */
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+    
+    /**
+     * Get the date of a point
+     * @param index Point index
+     * @return The date of the financial data point
+     */
+    public LocalDate getDate(int index) {
+        return LocalDate.ofEpochDay(getEpochDay(index));
+    }
+    
+    /**
+     * Get the date of a point without creating a LocalDate
+     * @param index Point index
+     * @return Days since 1970-01-01
+     */
+    public int getEpochDay(int index) {
+        return epochDays.get(checkIndex(index));
+    }
+    
+    /**
+     * Get the financial value of a point
+     * @param index Point index
+     * @return The financial value
+     */
+    public double getValue(int index) {
+        return values.get(checkIndex(index));
+    }
+    
+    /**
+     * Get the growth rate of a point
+     * @param index Point index
+     * @return The growth rate as a percentage
+     */
+    public double getGrowthRate(int index) {
+        return growthRates.get(checkIndex(index));
+    }
+    
+    /**
+     * Set the financial value of a point
+     * @param index Point index
+     * @param value New financial value
+     */
+    public void setValue(int index, double value) {
+        values.put(checkIndex(index), value);
+    }
+    
+    /**
+     * Set the growth rate of a point
+     * @param index Point index
+     * @param growthRate New growth rate as a percentage
+     */
+    public void setGrowthRate(int index, double growthRate) {
+        growthRates.put(checkIndex(index), growthRate);
+    }
+    
+    /**
+     * Calculate the growth factor (1 + growthRate/100) of a point
+     * @param index Point index
+     * @return The growth factor
+     */
+    public double getGrowthFactor(int index) {
+        return 1 + (getGrowthRate(index) / 100.0);
+    }
+    
+    /**
+     * Get the next value based on a point's growth rate
+     * @param index Point index
+     * @return The projected next value
+     */
+    public double getNextValue(int index) {
+        return getValue(index) * getGrowthFactor(index);
+    }
+    
+    /**
+     * Materialize one point as a FinancialData object (a copy; changing it does not change the store)
+     * @param index Point index
+     * @return FinancialData with the point's date, value and growth rate
+     */
+    public FinancialData get(int index) {
+        return new FinancialData(getDate(index), getValue(index), getGrowthRate(index));
+    }
+    
+    /**
+     * Materialize every point as FinancialData objects
+     * @return Financial data points, oldest first
+     */
+    public FinancialData[] toArray() {
+        FinancialData[] data = new FinancialData[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = get(i);
+        }
+        return data;
+    }
+    
+    /**
+     * Get the bytes used by the columns (their capacity, not just the points in use)
+     * @return Size in bytes
+     */
+    public long getSizeInBytes() {
+        return (long) values.capacity() * (Integer.BYTES + 2 * Double.BYTES);
+    }
+    
+    /**
+     * Get a formatted string for display of one point
+     * @param index Point index
+     * @return Formatted display string
+     */
+    public String toDisplayString(int index) {
+        return String.format("%s | Value: $%.2f | Growth Rate: %.2f%%",
+                           getDate(index).format(DATE_FORMAT), getValue(index), getGrowthRate(index));
+    }
+    
+    /**
+     * String representation of the store
+     * @return Formatted string
+     */
+    @Override
+    public String toString() {
+        if (size == 0) {
+            return "TimeSeriesStore{Points=0}";
+        }
+        return String.format("TimeSeriesStore{Points=%d, From=%s, To=%s, OffHeap=%s}",
+                           size, getDate(0).format(DATE_FORMAT), getDate(size - 1).format(DATE_FORMAT), offHeap);
+    }
+    
+    /**
+     * Replace the columns with ones of the given capacity, keeping the points already stored
+     */
+    private void allocate(int capacity) {
+        IntBuffer newEpochDays;
+        DoubleBuffer newValues;
+        DoubleBuffer newGrowthRates;
+        if (offHeap) {
+            newEpochDays = ByteBuffer.allocateDirect(Math.multiplyExact(capacity, Integer.BYTES)).order(ByteOrder.nativeOrder()).asIntBuffer();
+            newValues = ByteBuffer.allocateDirect(Math.multiplyExact(capacity, Double.BYTES)).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+            newGrowthRates = ByteBuffer.allocateDirect(Math.multiplyExact(capacity, Double.BYTES)).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+        } else {
+            newEpochDays = IntBuffer.wrap(new int[capacity]);
+            newValues = DoubleBuffer.wrap(new double[capacity]);
+            newGrowthRates = DoubleBuffer.wrap(new double[capacity]);
+        }
+        if (size > 0) {
+            // Relative bulk copies through views of the points in use (absolute bulk put needs JDK 16)
+            IntBuffer oldEpochDays = epochDays.duplicate();
+            DoubleBuffer oldValues = values.duplicate();
+            DoubleBuffer oldGrowthRates = growthRates.duplicate();
+            oldEpochDays.position(0).limit(size);
+            oldValues.position(0).limit(size);
+            oldGrowthRates.position(0).limit(size);
+            newEpochDays.put(oldEpochDays);
+            newValues.put(oldValues);
+            newGrowthRates.put(oldGrowthRates);
+        }
+        epochDays = newEpochDays;
+        values = newValues;
+        growthRates = newGrowthRates;
+    }
+    
+    /**
+     * Reject indexes outside the points in use (the columns may have spare capacity)
+     */
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + size + " points");
+        }
+        return index;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,78 @@
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * VectorBatchKernels class implementing the batch forecasting loops with the (incubating) Java Vector API
+ * Each step works on a whole vector of periods (e.g. 8 doubles per AVX-512 register)
+ * Kept outside src/main/java because it needs --add-modules jdk.incubator.vector to compile and run;
+ * BatchForecaster loads it by name and falls back to its scalar kernels when it is missing
+ * Sums are taken per lane and combined at the end, so results can differ from the scalar kernels
+ * in the last bits
+ */
+public final class VectorBatchKernels implements BatchForecaster.Kernels {
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    
+    /**
+     * Growth rates of a vector of periods per step; periods with a non-positive previous value are masked out
+     * Time Complexity: O(n / lanes)
+     */
+    @Override
+    public double averageGrowthRate(double[] values) {
+        DoubleVector totals = DoubleVector.zero(DOUBLES);
+        int count = 0;
+        int i = 1;
+        int bound = 1 + DOUBLES.loopBound(values.length - 1);
+        for (; i < bound; i += DOUBLES.length()) {
+            DoubleVector previous = DoubleVector.fromArray(DOUBLES, values, i - 1);
+            DoubleVector current = DoubleVector.fromArray(DOUBLES, values, i);
+            VectorMask<Double> usable = previous.compare(VectorOperators.GT, 0.0);
+            totals = totals.add(current.sub(previous).div(previous).mul(100.0), usable);
+            count += usable.trueCount();
+        }
+        double totalGrowthRate = totals.reduceLanes(VectorOperators.ADD);
+        for (; i < values.length; i++) {
+            double previousValue = values[i - 1];
+            if (previousValue > 0) {
+                totalGrowthRate += ((values[i] - previousValue) / previousValue) * 100;
+                count++;
+            }
+        }
+        return count > 0 ? totalGrowthRate / count : 0;
+    }
+    
+    /**
+     * The first vector of periods is a scalar running multiply; every later vector is the previous one
+     * times growthFactor^lanes, so each multiply advances all lanes at once
+     * Time Complexity: O(n / lanes)
+     */
+    @Override
+    public void forecast(double value, double growthFactor, double[] out, int from, int periods) {
+        int lanes = DOUBLES.length();
+        int head = Math.min(periods, lanes);
+        double step = 1.0;
+        for (int i = from; i < from + head; i++) {
+            value *= growthFactor;
+            step *= growthFactor;
+            out[i] = value;
+        }
+        if (periods < 2 * lanes) {
+            for (int i = from + head; i < from + periods; i++) {
+                value *= growthFactor;
+                out[i] = value;
+            }
+            return;
+        }
+        DoubleVector block = DoubleVector.fromArray(DOUBLES, out, from);
+        int i = from + lanes;
+        int bound = from + DOUBLES.loopBound(periods);
+        for (; i < bound; i += lanes) {
+            block = block.mul(step);
+            block.intoArray(out, i);
+        }
+        for (; i < from + periods; i++) {
+            out[i] = out[i - 1] * growthFactor;
+        }
+    }
+} 
\ No newline at end of file